@@ -2,6 +2,7 @@ package org.springframework.data.elasticsearch.annotations;
 
 
 import org.springframework.data.annotation.Persistent;
+import org.springframework.data.elasticsearch.core.RefreshPolicy;
 
 import java.lang.annotation.*;
 
@@ -13,4 +14,5 @@ public @interface Document {
 
     String indexName() default "";
     String type() default "";
+    RefreshPolicy refreshPolicy() default RefreshPolicy.DEFAULT;
 }
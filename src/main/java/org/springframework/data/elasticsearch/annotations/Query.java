@@ -22,4 +22,12 @@ public @interface Query {
      */
     String name() default "";
 
+    /**
+     * Search type used to execute the query, eg. query_then_fetch, query_and_fetch, count or scan.
+     * Defaults to the search type of the template.
+     *
+     * @return
+     */
+    String searchType() default "";
+
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.elasticsearch.core;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.elasticsearch.core.query.*;
+
+import java.util.List;
+import java.util.concurrent.Future;
+
+/**
+ * Non blocking variants of the {@link ElasticsearchOperations}. Requests are sent immediately, the returned
+ * {@link Future} maps the response once it is requested. Failures are reported as
+ * {@link java.util.concurrent.ExecutionException} by {@link Future#get()}.
+ *
+ */
+public interface AsyncElasticsearchOperations {
+
+    /**
+     * @see ElasticsearchOperations#queryForObject(GetQuery, Class)
+     */
+    <T> Future<T> queryForObjectAsync(GetQuery query, Class<T> clazz);
+
+    /**
+     * @see ElasticsearchOperations#queryForObject(CriteriaQuery, Class)
+     */
+    <T> Future<T> queryForObjectAsync(CriteriaQuery query, Class<T> clazz);
+
+    /**
+     * @see ElasticsearchOperations#queryForObject(StringQuery, Class)
+     */
+    <T> Future<T> queryForObjectAsync(StringQuery query, Class<T> clazz);
+
+    /**
+     * @see ElasticsearchOperations#queryForPage(SearchQuery, Class)
+     */
+    <T> Future<Page<T>> queryForPageAsync(SearchQuery query, Class<T> clazz);
+
+    /**
+     * @see ElasticsearchOperations#queryForPage(CriteriaQuery, Class)
+     */
+    <T> Future<Page<T>> queryForPageAsync(CriteriaQuery query, Class<T> clazz);
+
+    /**
+     * @see ElasticsearchOperations#queryForPage(StringQuery, Class)
+     */
+    <T> Future<Page<T>> queryForPageAsync(StringQuery query, Class<T> clazz);
+
+    /**
+     * @see ElasticsearchOperations#count(SearchQuery, Class)
+     */
+    <T> Future<Long> countAsync(SearchQuery query, Class<T> clazz);
+
+    /**
+     * @see ElasticsearchOperations#index(IndexQuery)
+     */
+    Future<String> indexAsync(IndexQuery query);
+
+    /**
+     * @see ElasticsearchOperations#bulkIndex(List)
+     */
+    Future<Void> bulkIndexAsync(List<IndexQuery> queries);
+
+    /**
+     * @see ElasticsearchOperations#delete(String, String, String)
+     */
+    Future<String> deleteAsync(String indexName, String type, String id);
+
+    /**
+     * @see ElasticsearchOperations#delete(Class, String)
+     */
+    <T> Future<String> deleteAsync(Class<T> clazz, String id);
+
+}
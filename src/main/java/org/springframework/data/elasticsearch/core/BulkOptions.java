@@ -0,0 +1,82 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.elasticsearch.core;
+
+/**
+ * Thresholds used by {@link ElasticsearchBulkProcessor} to decide when a bulk request is sent.
+ * A bulk is flushed as soon as any of the thresholds is reached.
+ *
+ */
+public class BulkOptions {
+
+    private int bulkActions = 1000;
+    private long bulkSizeInBytes = 5 * 1024 * 1024;
+    private long flushIntervalInMillis = -1;
+    private int concurrentRequests = 1;
+
+    public int getBulkActions() {
+        return bulkActions;
+    }
+
+    /**
+     * Number of actions after which a bulk is sent, -1 to disable
+     *
+     * @param bulkActions
+     */
+    public void setBulkActions(int bulkActions) {
+        this.bulkActions = bulkActions;
+    }
+
+    public long getBulkSizeInBytes() {
+        return bulkSizeInBytes;
+    }
+
+    /**
+     * Estimated request size after which a bulk is sent, -1 to disable
+     *
+     * @param bulkSizeInBytes
+     */
+    public void setBulkSizeInBytes(long bulkSizeInBytes) {
+        this.bulkSizeInBytes = bulkSizeInBytes;
+    }
+
+    public long getFlushIntervalInMillis() {
+        return flushIntervalInMillis;
+    }
+
+    /**
+     * Interval after which pending actions are sent regardless of their number or size, -1 to disable
+     *
+     * @param flushIntervalInMillis
+     */
+    public void setFlushIntervalInMillis(long flushIntervalInMillis) {
+        this.flushIntervalInMillis = flushIntervalInMillis;
+    }
+
+    public int getConcurrentRequests() {
+        return concurrentRequests;
+    }
+
+    /**
+     * Number of bulk requests allowed in flight while new actions are collected. Adding actions blocks
+     * as long as all of them are busy. 0 executes every bulk synchronously in the adding thread.
+     *
+     * @param concurrentRequests
+     */
+    public void setConcurrentRequests(int concurrentRequests) {
+        this.concurrentRequests = concurrentRequests;
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.elasticsearch.core;
+
+import java.util.Iterator;
+
+/**
+ * {@link Iterator} over a server side cursor (e.g. a scroll) which has to be closed once the caller is done with it
+ *
+ * @param <T>
+ */
+public interface CloseableIterator<T> extends Iterator<T> {
+
+    /**
+     * Stops fetching further results and releases the underlying cursor
+     */
+    void close();
+
+}
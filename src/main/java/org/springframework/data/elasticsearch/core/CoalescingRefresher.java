@@ -0,0 +1,88 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.elasticsearch.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Merges refresh requests per index. The first request for an index schedules a refresh after the maximum delay,
+ * further requests for the same index are absorbed by the pending refresh.
+ *
+ */
+public class CoalescingRefresher {
+
+    private static final Logger logger = LoggerFactory.getLogger(CoalescingRefresher.class);
+
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final long maxDelayInMillis;
+    private final ConcurrentMap<String, Boolean> pendingRefreshes = new ConcurrentHashMap<String, Boolean>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "elasticsearch-coalescing-refresher");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    public CoalescingRefresher(ElasticsearchOperations elasticsearchOperations, long maxDelayInMillis) {
+        Assert.notNull(elasticsearchOperations, "ElasticsearchOperations must not be null");
+        Assert.isTrue(maxDelayInMillis >= 0, "MaxDelayInMillis must not be negative");
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.maxDelayInMillis = maxDelayInMillis;
+    }
+
+    /**
+     * Request a refresh of the given index within the maximum delay
+     *
+     * @param indexName
+     */
+    public void requestRefresh(final String indexName) {
+        if (pendingRefreshes.putIfAbsent(indexName, Boolean.TRUE) != null) {
+            return;
+        }
+        scheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                // removed before refreshing so writes arriving during the refresh schedule another one
+                pendingRefreshes.remove(indexName);
+                try {
+                    elasticsearchOperations.refresh(indexName, false);
+                } catch (RuntimeException e) {
+                    // the executor would swallow the exception
+                    logger.error("Coalesced refresh of index [" + indexName + "] failed", e);
+                }
+            }
+        }, maxDelayInMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Cancel pending refreshes and stop the scheduler thread
+     */
+    public void shutdown() {
+        scheduler.shutdownNow();
+        pendingRefreshes.clear();
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.elasticsearch.core;
+
+import org.elasticsearch.index.query.BoolFilterBuilder;
+import org.elasticsearch.index.query.FilterBuilder;
+import org.springframework.data.elasticsearch.core.query.Criteria;
+
+import java.util.List;
+
+import static org.elasticsearch.index.query.FilterBuilders.*;
+import static org.springframework.data.elasticsearch.core.query.Criteria.OperationKey;
+
+/**
+ * Compiles {@link Criteria} into cached filters. Range and in conditions become range and terms filters, all other
+ * operations, equality included, are wrapped as query filters so that values of analyzed fields are analyzed just
+ * like in queries. A chain matches the same documents as it does when compiled by {@link CriteriaQueryProcessor}.
+ *
+ */
+class CriteriaFilterProcessor {
+
+    private final CriteriaQueryProcessor queryProcessor = new CriteriaQueryProcessor();
+
+    FilterBuilder createFilterFromCriteria(Criteria criteria) {
+        List<CriteriaQueryOptimizer.Clause> clauses = new CriteriaQueryOptimizer().optimize(criteria);
+        if (clauses.isEmpty()) {
+            return matchAllFilter();
+        }
+        boolean hasMustClause = false;
+        for (CriteriaQueryOptimizer.Clause clause : clauses) {
+            hasMustClause |= clause.getOccur() == CriteriaQueryOptimizer.Occur.MUST;
+        }
+        BoolFilterBuilder filter = boolFilter().cache(true);
+
+        for (CriteriaQueryOptimizer.Clause clause : clauses) {
+            switch (clause.getOccur()) {
+                case SHOULD:
+                    // next to must clauses a bool query only scores should clauses while a bool filter
+                    // requires one of them to match, so they are left out to match the same documents
+                    if (!hasMustClause) {
+                        filter.should(createFilterFragmentForClause(clause));
+                    }
+                    break;
+                case MUST_NOT:
+                    filter.mustNot(createFilterFragmentForClause(clause)); break;
+                default:
+                    filter.must(createFilterFragmentForClause(clause));
+            }
+        }
+        return filter;
+    }
+
+    private FilterBuilder createFilterFragmentForClause(CriteriaQueryOptimizer.Clause clause) {
+        List<CriteriaQueryOptimizer.Entry> entries = clause.getEntries();
+        if (entries.size() == 1) {
+            return processCriteriaEntry(entries.get(0).getKey(), entries.get(0).getValue(), clause.getFieldName());
+        }
+        BoolFilterBuilder filter = boolFilter().cache(true);
+        for (CriteriaQueryOptimizer.Entry entry : entries) {
+            filter.must(processCriteriaEntry(entry.getKey(), entry.getValue(), clause.getFieldName()));
+        }
+        return filter;
+    }
+
+    private FilterBuilder processCriteriaEntry(OperationKey key, Object value, String fieldName) {
+        switch (key) {
+            case BETWEEN:
+                Object[] ranges = (Object[]) value;
+                return rangeFilter(fieldName).from(ranges[0]).to(ranges[1]).cache(true);
+            case IN:
+                return termsFilter(fieldName, (Iterable<?>) value).cache(true);
+            default:
+                return queryFilter(queryProcessor.processCriteriaEntry(key, value, fieldName)).cache(true);
+        }
+    }
+
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.elasticsearch.core;
+
+import org.springframework.data.elasticsearch.core.query.Criteria;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.springframework.data.elasticsearch.core.query.Criteria.OperationKey;
+
+/**
+ * Normalizes a {@link Criteria} chain before it is compiled. Entries with {@literal null} values are dropped,
+ * identical entries and clauses are removed, conjunctive clauses on the same field are merged and open ended ranges
+ * on the same field are combined into a single range.
+ *
+ */
+class CriteriaQueryOptimizer {
+
+    enum Occur {
+        MUST, SHOULD, MUST_NOT
+    }
+
+    List<Clause> optimize(Criteria criteria) {
+        List<Clause> clauses = new ArrayList<Clause>();
+        for (Criteria chainedCriteria : criteria.getCriteriaChain()) {
+            String fieldName = chainedCriteria.getField().getName();
+            Assert.notNull(fieldName, "Unknown field");
+            Clause clause = new Clause(occurOf(chainedCriteria), fieldName, chainedCriteria.getBoost());
+            for (Criteria.CriteriaEntry entry : chainedCriteria.getCriteriaEntries()) {
+                clause.add(new Entry(entry.getKey(), entry.getValue()));
+            }
+            if (clause.entries.isEmpty()) {
+                continue;
+            }
+            Clause mergeTarget = findMergeTarget(clauses, clause);
+            if (mergeTarget != null) {
+                for (Entry entry : clause.entries) {
+                    mergeTarget.add(entry);
+                }
+            } else if (!clauses.contains(clause)) {
+                clauses.add(clause);
+            }
+        }
+        for (Clause clause : clauses) {
+            clause.mergeRanges();
+        }
+        return clauses;
+    }
+
+    private Occur occurOf(Criteria criteria) {
+        if (criteria.isOr()) {
+            return Occur.SHOULD;
+        }
+        return criteria.isNegating() ? Occur.MUST_NOT : Occur.MUST;
+    }
+
+    /**
+     * Entries of conjunctive clauses on the same field can be combined into one clause, unless a boost applies
+     */
+    private Clause findMergeTarget(List<Clause> clauses, Clause clause) {
+        if (clause.occur != Occur.MUST || clause.isBoosted()) {
+            return null;
+        }
+        for (Clause candidate : clauses) {
+            if (candidate.occur == Occur.MUST && !candidate.isBoosted() && candidate.fieldName.equals(clause.fieldName)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    static class Clause {
+
+        private final Occur occur;
+        private final String fieldName;
+        private final float boost;
+        private final List<Entry> entries = new ArrayList<Entry>();
+
+        Clause(Occur occur, String fieldName, float boost) {
+            this.occur = occur;
+            this.fieldName = fieldName;
+            this.boost = boost;
+        }
+
+        Occur getOccur() {
+            return occur;
+        }
+
+        String getFieldName() {
+            return fieldName;
+        }
+
+        float getBoost() {
+            return boost;
+        }
+
+        boolean isBoosted() {
+            return !Float.isNaN(boost);
+        }
+
+        List<Entry> getEntries() {
+            return Collections.unmodifiableList(entries);
+        }
+
+        void add(Entry entry) {
+            if (entry.getValue() != null && !entries.contains(entry)) {
+                entries.add(entry);
+            }
+        }
+
+        /**
+         * Combines a range open to the top with a range open to the bottom, e.g. greaterThanEqual and lessThanEqual
+         */
+        private void mergeRanges() {
+            Entry lowerBounded = null;
+            Entry upperBounded = null;
+            for (Entry entry : entries) {
+                if (entry.getKey() != OperationKey.BETWEEN) {
+                    continue;
+                }
+                Object[] range = (Object[]) entry.getValue();
+                if (lowerBounded == null && range[0] != null && range[1] == null) {
+                    lowerBounded = entry;
+                } else if (upperBounded == null && range[0] == null && range[1] != null) {
+                    upperBounded = entry;
+                }
+            }
+            if (lowerBounded == null || upperBounded == null) {
+                return;
+            }
+            int position = Math.min(entries.indexOf(lowerBounded), entries.indexOf(upperBounded));
+            entries.remove(lowerBounded);
+            entries.remove(upperBounded);
+            entries.add(position, new Entry(OperationKey.BETWEEN,
+                    new Object[]{((Object[]) lowerBounded.getValue())[0], ((Object[]) upperBounded.getValue())[1]}));
+            mergeRanges();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Clause)) {
+                return false;
+            }
+            Clause other = (Clause) obj;
+            return occur == other.occur && fieldName.equals(other.fieldName)
+                    && Float.compare(boost, other.boost) == 0 && entries.equals(other.entries);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * fieldName.hashCode() + entries.hashCode();
+        }
+    }
+
+    static class Entry {
+
+        private final OperationKey key;
+        private final Object value;
+
+        Entry(OperationKey key, Object value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        OperationKey getKey() {
+            return key;
+        }
+
+        Object getValue() {
+            return value;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Entry)) {
+                return false;
+            }
+            Entry other = (Entry) obj;
+            return key == other.key && ObjectUtils.nullSafeEquals(value, other.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * key.hashCode() + ObjectUtils.nullSafeHashCode(value);
+        }
+    }
+}
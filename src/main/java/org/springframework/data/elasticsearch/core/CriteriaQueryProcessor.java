@@ -19,60 +19,83 @@ import org.elasticsearch.index.query.BoolQueryBuilder;
 import org.elasticsearch.index.query.BoostableQueryBuilder;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.springframework.data.elasticsearch.core.query.Criteria;
-import org.springframework.util.Assert;
 
+import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.ListIterator;
+import java.util.List;
 
+import static org.elasticsearch.index.query.FilterBuilders.termsFilter;
 import static org.elasticsearch.index.query.QueryBuilders.*;
 import static org.springframework.data.elasticsearch.core.query.Criteria.OperationKey;
 
 class CriteriaQueryProcessor {
 
+    private static final int MAX_TERMS_QUERY_VALUES = 1024;
+
 
     QueryBuilder createQueryFromCriteria(Criteria criteria) {
-        BoolQueryBuilder query = boolQuery();
+        return createQueryFromClauses(new CriteriaQueryOptimizer().optimize(criteria));
+    }
 
-        ListIterator<Criteria> chainIterator = criteria.getCriteriaChain().listIterator();
-        while (chainIterator.hasNext()) {
-            Criteria chainedCriteria = chainIterator.next();
-            if(chainedCriteria.isOr()){
-                query.should(createQueryFragmentForCriteria(chainedCriteria));
-            }else if(chainedCriteria.isNegating()){
-                query.mustNot(createQueryFragmentForCriteria(chainedCriteria));
-            }else{
-                query.must(createQueryFragmentForCriteria(chainedCriteria));
+    QueryBuilder createQueryFromClauses(List<CriteriaQueryOptimizer.Clause> clauses) {
+        List<QueryBuilder> mustQueries = new ArrayList<QueryBuilder>();
+        List<QueryBuilder> shouldQueries = new ArrayList<QueryBuilder>();
+        List<QueryBuilder> mustNotQueries = new ArrayList<QueryBuilder>();
+
+        for (CriteriaQueryOptimizer.Clause clause : clauses) {
+            if (clause.getOccur() == CriteriaQueryOptimizer.Occur.SHOULD) {
+                shouldQueries.add(createQueryFragmentForClause(clause));
+            } else if (clause.getOccur() == CriteriaQueryOptimizer.Occur.MUST_NOT) {
+                mustNotQueries.add(createQueryFragmentForClause(clause));
+            } else if (clause.isBoosted()) {
+                mustQueries.add(createQueryFragmentForClause(clause));
+            } else {
+                // unboosted conjunctions are added directly instead of nesting another bool
+                for (CriteriaQueryOptimizer.Entry entry : clause.getEntries()) {
+                    mustQueries.add(processCriteriaEntry(entry.getKey(), entry.getValue(), clause.getFieldName()));
+                }
             }
         }
+
+        if (mustNotQueries.isEmpty() && mustQueries.size() + shouldQueries.size() == 1) {
+            return mustQueries.isEmpty() ? shouldQueries.get(0) : mustQueries.get(0);
+        }
+        if (mustNotQueries.isEmpty() && mustQueries.isEmpty() && shouldQueries.isEmpty()) {
+            return matchAllQuery();
+        }
+        BoolQueryBuilder query = boolQuery();
+        for (QueryBuilder mustQuery : mustQueries) {
+            query.must(mustQuery);
+        }
+        for (QueryBuilder shouldQuery : shouldQueries) {
+            query.should(shouldQuery);
+        }
+        for (QueryBuilder mustNotQuery : mustNotQueries) {
+            query.mustNot(mustNotQuery);
+        }
         return query;
     }
 
 
-    private QueryBuilder createQueryFragmentForCriteria(Criteria chainedCriteria) {
-        Iterator<Criteria.CriteriaEntry> it = chainedCriteria.getCriteriaEntries().iterator();
-        boolean singeEntryCriteria = (chainedCriteria.getCriteriaEntries().size() == 1);
+    private QueryBuilder createQueryFragmentForClause(CriteriaQueryOptimizer.Clause clause) {
+        List<CriteriaQueryOptimizer.Entry> entries = clause.getEntries();
+        QueryBuilder query;
 
-        String fieldName = chainedCriteria.getField().getName();
-        Assert.notNull(fieldName,"Unknown field");
-        QueryBuilder query = null;
-
-        if(singeEntryCriteria){
-            Criteria.CriteriaEntry entry = it.next();
-            query = processCriteriaEntry(entry.getKey(), entry.getValue(), fieldName);
-        }else{
+        if (entries.size() == 1) {
+            query = processCriteriaEntry(entries.get(0).getKey(), entries.get(0).getValue(), clause.getFieldName());
+        } else {
             query = boolQuery();
-            while (it.hasNext()){
-                Criteria.CriteriaEntry entry = it.next();
-                ((BoolQueryBuilder)query).must(processCriteriaEntry(entry.getKey(), entry.getValue(), fieldName));
+            for (CriteriaQueryOptimizer.Entry entry : entries) {
+                ((BoolQueryBuilder) query).must(processCriteriaEntry(entry.getKey(), entry.getValue(), clause.getFieldName()));
             }
         }
 
-        addBoost(query, chainedCriteria.getBoost());
+        addBoost(query, clause.getBoost());
         return query;
     }
 
 
-    private QueryBuilder processCriteriaEntry(OperationKey key, Object value, String fieldName) {
+    QueryBuilder processCriteriaEntry(OperationKey key, Object value, String fieldName) {
         if (value == null) {
             return null;
         }
@@ -95,17 +118,27 @@ class CriteriaQueryProcessor {
             case FUZZY:
                 query = fuzzyQuery(fieldName, (String) value); break;
             case IN:
-                query = boolQuery();
-                Iterable<Object> collection = (Iterable<Object>) value;
-                for(Object item : collection){
-                   ((BoolQueryBuilder) query).should(fieldQuery(fieldName, item));
-                }
-                break;
+                query = createTermsQuery(fieldName, (Iterable<Object>) value); break;
         }
 
         return query;
     }
 
+    /**
+     * A terms query is rewritten into one boolean clause per value, larger value sets are matched through a terms
+     * filter which is not subject to the boolean clause limit
+     */
+    private QueryBuilder createTermsQuery(String fieldName, Iterable<Object> values) {
+        List<Object> terms = new ArrayList<Object>();
+        for (Object value : values) {
+            terms.add(value);
+        }
+        if (terms.size() <= MAX_TERMS_QUERY_VALUES) {
+            return termsQuery(fieldName, terms.toArray());
+        }
+        return constantScoreQuery(termsFilter(fieldName, terms));
+    }
+
     private QueryBuilder buildNegationQuery(String fieldName, Iterator<Criteria.CriteriaEntry> it){
         BoolQueryBuilder notQuery =  boolQuery();
         while (it.hasNext()){
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.elasticsearch.core;
+
+import org.elasticsearch.index.query.QueryBuilder;
+import org.springframework.data.elasticsearch.core.query.Criteria;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link Criteria} chain optimized once into its clauses, with placeholders standing in for the values of a single
+ * invocation. Binding replaces the placeholders and builds the elasticsearch query from the prepared clauses without
+ * creating and optimizing the criteria chain again.
+ * <p/>
+ * Placeholders are matched by identity, as entry values, as bounds of a range or as the only element of the values
+ * of an in criteria. Bound values must not be {@literal null}, the clauses have been optimized for non null values.
+ *
+ */
+public class CriteriaQueryTemplate {
+
+    private final List<CriteriaQueryOptimizer.Clause> clauses;
+    private final Map<Object, Integer> placeholders = new IdentityHashMap<Object, Integer>();
+
+    /**
+     * @param criteria criteria chain with placeholder values
+     * @param placeholders placeholders in the order of the values passed to {@link #bind(Object...)}
+     */
+    public CriteriaQueryTemplate(Criteria criteria, List<?> placeholders) {
+        Assert.notNull(criteria, "Criteria must not be null");
+        for (int i = 0; i < placeholders.size(); i++) {
+            this.placeholders.put(placeholders.get(i), i);
+        }
+        this.clauses = new CriteriaQueryOptimizer().optimize(criteria);
+    }
+
+    /**
+     * @param values values of the placeholders, in values of in criteria as {@link Iterable}
+     * @return query for the bound values
+     */
+    public QueryBuilder bind(Object... values) {
+        Assert.isTrue(values.length == placeholders.size(), "Expected " + placeholders.size() + " values but got " + values.length);
+        List<CriteriaQueryOptimizer.Clause> boundClauses = new ArrayList<CriteriaQueryOptimizer.Clause>(clauses.size());
+        for (CriteriaQueryOptimizer.Clause clause : clauses) {
+            CriteriaQueryOptimizer.Clause boundClause = new CriteriaQueryOptimizer.Clause(clause.getOccur(), clause.getFieldName(), clause.getBoost());
+            for (CriteriaQueryOptimizer.Entry entry : clause.getEntries()) {
+                boundClause.add(new CriteriaQueryOptimizer.Entry(entry.getKey(), bind(entry.getValue(), values)));
+            }
+            if (!boundClauses.contains(boundClause)) {
+                boundClauses.add(boundClause);
+            }
+        }
+        return new CriteriaQueryProcessor().createQueryFromClauses(boundClauses);
+    }
+
+    private Object bind(Object value, Object[] values) {
+        if (value instanceof Object[]) {
+            Object[] range = (Object[]) value;
+            Object[] boundRange = new Object[range.length];
+            for (int i = 0; i < range.length; i++) {
+                boundRange[i] = bind(range[i], values);
+            }
+            return boundRange;
+        }
+        if (value instanceof List && ((List<?>) value).size() == 1 && placeholders.containsKey(((List<?>) value).get(0))) {
+            return values[placeholders.get(((List<?>) value).get(0))];
+        }
+        Integer index = value != null ? placeholders.get(value) : null;
+        if (index == null) {
+            return value;
+        }
+        Assert.notNull(values[index], "Bound value must not be null");
+        return values[index];
+    }
+}
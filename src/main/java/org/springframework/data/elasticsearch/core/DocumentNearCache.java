@@ -0,0 +1,227 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.elasticsearch.core;
+
+import org.springframework.util.Assert;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Near cache for documents fetched by id through {@link ElasticsearchTemplate#queryForObject(org.springframework.data.elasticsearch.core.query.GetQuery, Class)}.
+ * Keeps the source and version of each document, bounded by number of entries and estimated heap bytes, evicting
+ * least recently used entries first. Entries are served without a request for the time to live. Once expired they are
+ * either fetched again or, with {@link #setRevalidateByVersion(boolean)}, revalidated by a get request without source
+ * which only compares the version. Writes through the template invalidate the affected documents.
+ *
+ */
+public class DocumentNearCache {
+
+    private static final int ENTRY_OVERHEAD_IN_BYTES = 128;
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final long timeToLiveInMillis;
+    private boolean revalidateByVersion = false;
+
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true);
+    private final Map<String, Long> generations = new HashMap<String, Long>();
+    private long sizeInBytes = 0;
+
+    public DocumentNearCache(int maxEntries, long maxBytes, long timeToLiveInMillis) {
+        Assert.isTrue(maxEntries > 0, "Maximum number of entries must be greater than 0");
+        Assert.isTrue(maxBytes > 0, "Maximum number of bytes must be greater than 0");
+        Assert.isTrue(timeToLiveInMillis > 0, "Time to live must be greater than 0");
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.timeToLiveInMillis = timeToLiveInMillis;
+    }
+
+    public boolean isRevalidateByVersion() {
+        return revalidateByVersion;
+    }
+
+    /**
+     * Revalidate expired entries by comparing their version with the current one instead of fetching the source again
+     *
+     * @param revalidateByVersion
+     */
+    public void setRevalidateByVersion(boolean revalidateByVersion) {
+        this.revalidateByVersion = revalidateByVersion;
+    }
+
+    /**
+     * @param indexName
+     * @param type
+     * @param id
+     * @return cached entry, which may have expired, null if there is none
+     */
+    public synchronized Entry get(String indexName, String type, String id) {
+        return entries.get(new Key(indexName, type, id));
+    }
+
+    /**
+     * Current generation of the index, to be taken before the document is fetched and passed to
+     * {@link #put(String, String, String, String, long, long)}
+     *
+     * @param indexName
+     * @return
+     */
+    public synchronized long generation(String indexName) {
+        Long generation = generations.get(indexName);
+        return generation != null ? generation : 0;
+    }
+
+    /**
+     * Cache the document unless the index has been written since the given generation was taken
+     *
+     * @param indexName
+     * @param type
+     * @param id
+     * @param source
+     * @param version
+     * @param generation
+     */
+    public synchronized void put(String indexName, String type, String id, String source, long version, long generation) {
+        if (generation != generation(indexName)) {
+            return;
+        }
+        Key key = new Key(indexName, type, id);
+        Entry entry = new Entry(source, version, System.currentTimeMillis() + timeToLiveInMillis, estimateSize(key, source));
+        if (entry.sizeInBytes > maxBytes) {
+            return;
+        }
+        remove(key);
+        entries.put(key, entry);
+        sizeInBytes += entry.sizeInBytes;
+        for (Iterator<Entry> iterator = entries.values().iterator(); entries.size() > maxEntries || sizeInBytes > maxBytes; ) {
+            sizeInBytes -= iterator.next().sizeInBytes;
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Mark the entry as valid for another time to live, its version has been confirmed to be current
+     *
+     * @param entry
+     */
+    public synchronized void revalidated(Entry entry) {
+        entry.expiresAt = System.currentTimeMillis() + timeToLiveInMillis;
+    }
+
+    public synchronized void invalidate(String indexName, String type, String id) {
+        incrementGeneration(indexName);
+        remove(new Key(indexName, type, id));
+    }
+
+    public synchronized void invalidate(String indexName) {
+        incrementGeneration(indexName);
+        for (Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator(); iterator.hasNext(); ) {
+            Map.Entry<Key, Entry> entry = iterator.next();
+            if (entry.getKey().indexName.equals(indexName)) {
+                sizeInBytes -= entry.getValue().sizeInBytes;
+                iterator.remove();
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return estimated heap bytes held by the cached entries
+     */
+    public synchronized long getSizeInBytes() {
+        return sizeInBytes;
+    }
+
+    private void remove(Key key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            sizeInBytes -= removed.sizeInBytes;
+        }
+    }
+
+    private void incrementGeneration(String indexName) {
+        generations.put(indexName, generation(indexName) + 1);
+    }
+
+    private static long estimateSize(Key key, String source) {
+        return ENTRY_OVERHEAD_IN_BYTES + 2L * (key.indexName.length() + key.type.length() + key.id.length() + source.length());
+    }
+
+    public static class Entry {
+
+        private final String source;
+        private final long version;
+        private final long sizeInBytes;
+        private volatile long expiresAt;
+
+        private Entry(String source, long version, long expiresAt, long sizeInBytes) {
+            this.source = source;
+            this.version = version;
+            this.expiresAt = expiresAt;
+            this.sizeInBytes = sizeInBytes;
+        }
+
+        public String getSource() {
+            return source;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public boolean isExpired() {
+            return expiresAt <= System.currentTimeMillis();
+        }
+    }
+
+    private static class Key {
+
+        private final String indexName;
+        private final String type;
+        private final String id;
+
+        private Key(String indexName, String type, String id) {
+            this.indexName = indexName;
+            this.type = type;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return indexName.equals(key.indexName) && type.equals(key.type) && id.equals(key.id);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = indexName.hashCode();
+            result = 31 * result + type.hashCode();
+            return 31 * result + id.hashCode();
+        }
+    }
+}
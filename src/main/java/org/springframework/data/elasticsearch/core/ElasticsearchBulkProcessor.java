@@ -0,0 +1,156 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.elasticsearch.core;
+
+import org.elasticsearch.action.ActionRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkProcessor;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.client.Client;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.unit.TimeValue;
+import org.springframework.data.elasticsearch.ElasticsearchException;
+import org.springframework.data.elasticsearch.core.mapping.ElasticsearchPersistentEntity;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.util.Assert;
+
+/**
+ * Long lived processor collecting index and delete actions into bulk requests which are sent in the background.
+ * See {@link BulkOptions} for the flush thresholds. Failed actions are reported to the {@link BulkFailureListener}.
+ * Has to be closed to send the remaining actions.
+ *
+ */
+public class ElasticsearchBulkProcessor {
+
+    private final ElasticsearchTemplate elasticsearchTemplate;
+    private final BulkProcessor bulkProcessor;
+    private int bulksInFlight = 0;
+
+    ElasticsearchBulkProcessor(Client client, final ElasticsearchTemplate elasticsearchTemplate, BulkOptions options, final BulkFailureListener failureListener) {
+        Assert.notNull(options, "BulkOptions must not be null");
+        Assert.notNull(failureListener, "BulkFailureListener must not be null");
+        this.elasticsearchTemplate = elasticsearchTemplate;
+        this.bulkProcessor = BulkProcessor.builder(client, new BulkProcessor.Listener() {
+            @Override
+            public void beforeBulk(long executionId, BulkRequest request) {
+                bulkStarted();
+            }
+
+            @Override
+            public void afterBulk(long executionId, BulkRequest request, BulkResponse response) {
+                try {
+                    if (response.hasFailures()) {
+                        for (BulkItemResponse item : response.items()) {
+                            if (item.failed()) {
+                                failureListener.onFailure(item.getId(), item.failureMessage());
+                            }
+                        }
+                    }
+                } finally {
+                    elasticsearchTemplate.invalidateCaches(request.requests());
+                    bulkCompleted();
+                }
+            }
+
+            @Override
+            public void afterBulk(long executionId, BulkRequest request, Throwable failure) {
+                try {
+                    for (ActionRequest action : request.requests()) {
+                        failureListener.onFailure(documentId(action), failure.toString());
+                    }
+                } finally {
+                    elasticsearchTemplate.invalidateCaches(request.requests());
+                    bulkCompleted();
+                }
+            }
+        })
+                .setBulkActions(options.getBulkActions())
+                .setBulkSize(new ByteSizeValue(options.getBulkSizeInBytes()))
+                .setFlushInterval(options.getFlushIntervalInMillis() > 0 ? TimeValue.timeValueMillis(options.getFlushIntervalInMillis()) : null)
+                .setConcurrentRequests(options.getConcurrentRequests())
+                .build();
+    }
+
+    /**
+     * Add an index action. Blocks if the maximum number of concurrent bulk requests is in flight.
+     *
+     * @param query
+     */
+    public void index(IndexQuery query) {
+        bulkProcessor.add(elasticsearchTemplate.prepareIndex(query).request());
+    }
+
+    /**
+     * Add a delete action. Blocks if the maximum number of concurrent bulk requests is in flight.
+     *
+     * @param indexName
+     * @param type
+     * @param id
+     */
+    public void delete(String indexName, String type, String id) {
+        bulkProcessor.add(new DeleteRequest(indexName, type, id));
+    }
+
+    /**
+     * Add a delete action. Blocks if the maximum number of concurrent bulk requests is in flight.
+     *
+     * @param clazz
+     * @param id
+     */
+    public <T> void delete(Class<T> clazz, String id) {
+        ElasticsearchPersistentEntity persistentEntity = elasticsearchTemplate.getPersistentEntityFor(clazz);
+        delete(persistentEntity.getIndexName(), persistentEntity.getIndexType(), id);
+    }
+
+    /**
+     * Send the remaining actions and wait until all bulk requests in flight have completed
+     */
+    public void close() {
+        bulkProcessor.close();
+        synchronized (this) {
+            while (bulksInFlight > 0) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ElasticsearchException("Interrupted while waiting for bulk requests to complete", e);
+                }
+            }
+        }
+    }
+
+    private synchronized void bulkStarted() {
+        bulksInFlight++;
+    }
+
+    private synchronized void bulkCompleted() {
+        bulksInFlight--;
+        notifyAll();
+    }
+
+    private static String documentId(ActionRequest action) {
+        if (action instanceof IndexRequest) {
+            return ((IndexRequest) action).id();
+        }
+        if (action instanceof DeleteRequest) {
+            return ((DeleteRequest) action).id();
+        }
+        return null;
+    }
+}
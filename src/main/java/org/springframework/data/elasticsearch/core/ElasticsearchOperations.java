@@ -4,9 +4,13 @@ package org.springframework.data.elasticsearch.core;
 import org.elasticsearch.action.bulk.BulkResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.elasticsearch.core.convert.ElasticsearchConverter;
+import org.springframework.data.elasticsearch.core.facet.FacetResult;
 import org.springframework.data.elasticsearch.core.query.*;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public interface ElasticsearchOperations {
 
@@ -32,6 +36,43 @@ public interface ElasticsearchOperations {
      */
     <T> T queryForObject(GetQuery query, Class<T> clazz);
 
+    /**
+     * Fetch the documents with the given ids using multi get. Large id lists are split into
+     * several requests which are executed in parallel.
+     *
+     * @param ids
+     * @param clazz
+     * @return the found objects in the order of the given ids, missing documents are skipped
+     */
+    <T> List<T> multiGet(Collection<String> ids, Class<T> clazz);
+
+    /**
+     * Fetch the documents with the given ids using multi get, keyed by the id of the returned documents
+     *
+     * @param ids
+     * @param clazz
+     * @return the found objects keyed by document id in the order of the given ids, missing documents are skipped
+     */
+    <T> Map<String, T> multiGetById(Collection<String> ids, Class<T> clazz);
+
+    /**
+     * Check whether a document with the given id exists without loading its source
+     *
+     * @param clazz
+     * @param id
+     * @return
+     */
+    <T> boolean exists(Class<T> clazz, String id);
+
+    /**
+     * Check which of the given ids exist using multi get without loading any source
+     *
+     * @param clazz
+     * @param ids
+     * @return the existing ids in the order of the given ids
+     */
+    <T> Set<String> existsAll(Class<T> clazz, Collection<String> ids);
+
     /**
      * Execute the query against elasticsearch and return the first returned object
      *
@@ -41,6 +82,15 @@ public interface ElasticsearchOperations {
      */
     <T> T queryForObject(CriteriaQuery query, Class<T> clazz);
 
+    /**
+     * Execute the query against elasticsearch and return the first returned object
+     *
+     * @param query
+     * @param clazz
+     * @return the first matching object
+     */
+    <T> T queryForObject(SearchQuery query, Class<T> clazz);
+
 
     /**
      * Execute the query against elasticsearch and return the first returned object
@@ -80,6 +130,63 @@ public interface ElasticsearchOperations {
      */
     <T> Page<T> queryForPage(StringQuery query, Class<T> clazz);
 
+    /**
+     * Execute the query against elasticsearch and return result as {@link FacetedPage}
+     * together with the facets added to the query
+     *
+     * @param query
+     * @param clazz
+     * @return
+     */
+    <T> FacetedPage<T> queryForFacetedPage(SearchQuery query, Class<T> clazz);
+
+    /**
+     * Compute only the facets added to the query, no documents are fetched
+     *
+     * @param query
+     * @param clazz
+     * @return
+     */
+    <T> List<FacetResult> queryForFacets(SearchQuery query, Class<T> clazz);
+
+    /**
+     * Execute the query against elasticsearch and return the content of the requested page only,
+     * without the total number of hits. One additional hit is fetched to tell whether a next page exists.
+     *
+     * @param query
+     * @param clazz
+     * @return
+     */
+    <T> SliceList<T> queryForList(SearchQuery query, Class<T> clazz);
+
+    /**
+     * Execute the query against elasticsearch and return the content of the requested page only,
+     * without the total number of hits. One additional hit is fetched to tell whether a next page exists.
+     *
+     * @param query
+     * @param clazz
+     * @return
+     */
+    <T> SliceList<T> queryForList(CriteriaQuery query, Class<T> clazz);
+
+    /**
+     * Execute the query against elasticsearch and return the content of the requested page only,
+     * without the total number of hits. One additional hit is fetched to tell whether a next page exists.
+     *
+     * @param query
+     * @param clazz
+     * @return
+     */
+    <T> SliceList<T> queryForList(StringQuery query, Class<T> clazz);
+
+
+    /**
+     * Execute the collected queries in a single multi search round trip
+     *
+     * @param query
+     * @return one page per query, in the order the queries were added
+     */
+    List<Page<?>> multiSearch(MultiSearchQuery query);
 
     /**
      * return number of elements found by for given query
@@ -90,6 +197,24 @@ public interface ElasticsearchOperations {
      */
     <T> long count(SearchQuery query, Class<T> clazz);
 
+    /**
+     * return number of elements found by for given query
+     *
+     * @param query
+     * @param clazz
+     * @return
+     */
+    <T> long count(CriteriaQuery query, Class<T> clazz);
+
+    /**
+     * return number of elements found by for given query
+     *
+     * @param query
+     * @param clazz
+     * @return
+     */
+    <T> long count(StringQuery query, Class<T> clazz);
+
     /**
      * Index an object. Will do save or update
      *
@@ -105,6 +230,15 @@ public interface ElasticsearchOperations {
      */
      void bulkIndex(List<IndexQuery> queries);
 
+    /**
+     * Create a processor which collects index and delete actions and sends them as bulk requests in the background
+     *
+     * @param options thresholds for flushing and the number of concurrent bulk requests
+     * @param failureListener notified about every action which failed
+     * @return the processor, has to be closed once no more actions are added
+     */
+    ElasticsearchBulkProcessor bulkProcessor(BulkOptions options, BulkFailureListener failureListener);
+
     /**
      * Delete the one object with provided id
      *
@@ -124,6 +258,23 @@ public interface ElasticsearchOperations {
      */
     <T> String delete(Class<T> clazz, String id);
 
+    /**
+     * Delete the objects with provided ids in a single bulk request
+     *
+     * @param indexName
+     * @param type
+     * @param ids
+     */
+    void bulkDelete(String indexName, String type, Collection<String> ids);
+
+    /**
+     * Delete the objects with provided ids in a single bulk request
+     *
+     * @param clazz
+     * @param ids
+     */
+    <T> void bulkDelete(Class<T> clazz, Collection<String> ids);
+
     /**
      * Delete all records matching the query
      * @param clazz
@@ -131,6 +282,101 @@ public interface ElasticsearchOperations {
      */
     <T> void delete(DeleteQuery query, Class<T> clazz);
 
+    /**
+     * Starts a scan over all documents matching the query. Every scroll request returns up to the query's page size
+     * documents per shard.
+     *
+     * @param query
+     * @param scrollTimeInMillis time the scroll context is kept alive between two requests
+     * @param clazz
+     * @return scrollId to be passed to {@link #scroll(String, long, Class)}
+     */
+    <T> String scan(SearchQuery query, long scrollTimeInMillis, Class<T> clazz);
+
+    /**
+     * Fetch the next batch of results for the given scroll id. An empty page means the scroll is exhausted.
+     * The next batch has to be requested with the scroll id of the returned page.
+     *
+     * @param scrollId
+     * @param scrollTimeInMillis
+     * @param clazz
+     * @return
+     */
+    <T> ScrolledPage<T> scroll(String scrollId, long scrollTimeInMillis, Class<T> clazz);
+
+    /**
+     * Execute the query using scan and scroll and return the results lazily, one batch of hits at a time.
+     * If the query is sorted, results are scrolled in sort order with windows of the query's page size.
+     * The returned iterator should be closed if it is not fully consumed.
+     *
+     * @param query
+     * @param clazz
+     * @return
+     */
+    <T> CloseableIterator<T> stream(SearchQuery query, Class<T> clazz);
+
+    /**
+     * Execute the query without fetching source or fields and return the ids of the requested page
+     *
+     * @param query
+     * @param clazz
+     * @return
+     */
+    <T> List<String> queryForIds(SearchQuery query, Class<T> clazz);
+
+    /**
+     * Execute the criteria query without fetching source or fields and return the ids of the requested page
+     *
+     * @param query
+     * @param clazz
+     * @return
+     */
+    <T> List<String> queryForIds(CriteriaQuery query, Class<T> clazz);
+
+    /**
+     * Fetch the window of results following the given keyset instead of skipping hits with from/size.
+     * The page size is taken from the pageable of the query, the page number is ignored. Results are sorted by
+     * the sort of the query followed by the unique tiebreaker field, which has to be single valued and not analyzed.
+     *
+     * @param query
+     * @param tiebreaker field unique per document, e.g. _uid
+     * @param after keyset of the last hit of the previous window, null for the first window
+     * @param clazz
+     * @return
+     */
+    <T> KeysetPage<T> queryForKeysetPage(SearchQuery query, String tiebreaker, Keyset after, Class<T> clazz);
+
+    /**
+     * Fetch the window of results following the given keyset instead of skipping hits with from/size.
+     * The page size is taken from the pageable of the query, the page number is ignored. Results are sorted by
+     * the sort of the query followed by the unique tiebreaker field, which has to be single valued and not analyzed.
+     *
+     * @param query
+     * @param tiebreaker field unique per document, e.g. _uid
+     * @param after keyset of the last hit of the previous window, null for the first window
+     * @param clazz
+     * @return
+     */
+    <T> KeysetPage<T> queryForKeysetPage(CriteriaQuery query, String tiebreaker, Keyset after, Class<T> clazz);
+
+    /**
+     * Like {@link #stream(SearchQuery, Class)}, but only returns the ids of all matching documents
+     *
+     * @param query
+     * @param clazz
+     * @return
+     */
+    <T> CloseableIterator<String> streamIds(SearchQuery query, Class<T> clazz);
+
+    /**
+     * Like {@link #streamIds(SearchQuery, Class)} for a criteria query
+     *
+     * @param query
+     * @param clazz
+     * @return
+     */
+    <T> CloseableIterator<String> streamIds(CriteriaQuery query, Class<T> clazz);
+
     /**
      * refresh the index
      * @param indexName
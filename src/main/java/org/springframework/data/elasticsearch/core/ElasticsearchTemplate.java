@@ -2,19 +2,43 @@ package org.springframework.data.elasticsearch.core;
 
 import org.codehaus.jackson.map.DeserializationConfig;
 import org.codehaus.jackson.map.ObjectMapper;
+import org.elasticsearch.action.ActionFuture;
+import org.elasticsearch.action.ActionRequest;
 import org.elasticsearch.action.bulk.BulkItemResponse;
 import org.elasticsearch.action.bulk.BulkRequestBuilder;
 import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.count.CountRequestBuilder;
+import org.elasticsearch.action.count.CountResponse;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.delete.DeleteResponse;
+import org.elasticsearch.action.get.GetRequestBuilder;
 import org.elasticsearch.action.get.GetResponse;
+import org.elasticsearch.action.get.MultiGetItemResponse;
+import org.elasticsearch.action.get.MultiGetRequest;
+import org.elasticsearch.action.get.MultiGetRequestBuilder;
+import org.elasticsearch.action.get.MultiGetResponse;
+import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.index.IndexRequestBuilder;
+import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.action.search.MultiSearchRequestBuilder;
+import org.elasticsearch.action.search.MultiSearchResponse;
 import org.elasticsearch.action.search.SearchRequestBuilder;
 import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.SearchType;
+import org.elasticsearch.action.search.ShardSearchFailure;
 import org.elasticsearch.client.Client;
 import org.elasticsearch.client.Requests;
+import org.elasticsearch.common.bytes.BytesArray;
 import org.elasticsearch.common.collect.MapBuilder;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.index.query.BoolFilterBuilder;
+import org.elasticsearch.index.query.FilterBuilder;
 import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.index.query.RangeFilterBuilder;
 import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.SearchHitField;
+import org.elasticsearch.search.facet.AbstractFacetBuilder;
+import org.elasticsearch.search.facet.Facet;
 import org.elasticsearch.search.sort.SortOrder;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -23,6 +47,8 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.elasticsearch.ElasticsearchException;
 import org.springframework.data.elasticsearch.core.convert.ElasticsearchConverter;
 import org.springframework.data.elasticsearch.core.convert.MappingElasticsearchConverter;
+import org.springframework.data.elasticsearch.core.facet.DefaultFacetMapper;
+import org.springframework.data.elasticsearch.core.facet.FacetResult;
 import org.springframework.data.elasticsearch.core.mapping.ElasticsearchPersistentEntity;
 import org.springframework.data.elasticsearch.core.mapping.SimpleElasticsearchMappingContext;
 import org.springframework.data.elasticsearch.core.query.*;
@@ -30,21 +56,52 @@ import org.springframework.util.Assert;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.apache.commons.lang.StringUtils.isBlank;
 import static org.elasticsearch.action.search.SearchType.DFS_QUERY_THEN_FETCH;
+import static org.elasticsearch.action.search.SearchType.QUERY_THEN_FETCH;
+import static org.elasticsearch.action.search.SearchType.SCAN;
 import static org.elasticsearch.client.Requests.indicesExistsRequest;
 import static org.elasticsearch.client.Requests.refreshRequest;
+import static org.elasticsearch.index.query.FilterBuilders.boolFilter;
+import static org.elasticsearch.index.query.FilterBuilders.rangeFilter;
+import static org.elasticsearch.index.query.FilterBuilders.termFilter;
+import static org.elasticsearch.index.query.QueryBuilders.filteredQuery;
+import static org.elasticsearch.index.query.QueryBuilders.matchAllQuery;
 
 
-public class ElasticsearchTemplate implements ElasticsearchOperations {
+public class ElasticsearchTemplate implements ElasticsearchOperations, AsyncElasticsearchOperations {
+
+    private static final long DEFAULT_SCROLL_TIME_IN_MILLIS = 60000;
+    private static final int DEFAULT_PAGE_SIZE = 10;
+    private static final int DEFAULT_MULTI_GET_BATCH_SIZE = 1000;
+    private static final String PARTIAL_SOURCE_FIELD = "_partial";
 
     private Client client;
     private ElasticsearchConverter elasticsearchConverter;
 
+    private SearchType searchType = DFS_QUERY_THEN_FETCH;
+    private int multiGetBatchSize = DEFAULT_MULTI_GET_BATCH_SIZE;
+    private QueryResultCache queryResultCache;
+    private DocumentNearCache nearCache;
+    private SingleFlight singleFlight;
+    private final ConcurrentMap<String, AtomicLong> writeGenerations = new ConcurrentHashMap<String, AtomicLong>();
+
     private ObjectMapper objectMapper = new ObjectMapper();
 
     {
@@ -61,6 +118,62 @@ public class ElasticsearchTemplate implements ElasticsearchOperations {
     }
 
 
+    /**
+     * Search type used for all queries which do not define their own. Defaults to {@link SearchType#DFS_QUERY_THEN_FETCH}
+     *
+     * @param searchType
+     */
+    public void setSearchType(SearchType searchType) {
+        Assert.notNull(searchType, "SearchType must not be null");
+        this.searchType = searchType;
+    }
+
+    public SearchType getSearchType() {
+        return searchType;
+    }
+
+    /**
+     * Maximum number of ids fetched by a single multi get request. Larger id lists are split into
+     * several requests which are executed in parallel.
+     *
+     * @param multiGetBatchSize
+     */
+    public void setMultiGetBatchSize(int multiGetBatchSize) {
+        Assert.isTrue(multiGetBatchSize > 0, "MultiGetBatchSize must be greater than 0");
+        this.multiGetBatchSize = multiGetBatchSize;
+    }
+
+    /**
+     * Cache for the results of queryForPage, queryForObject and count, null (the default) disables caching.
+     * The raw hit sources are cached and mapped to new entities on every hit.
+     *
+     * @param queryResultCache
+     */
+    public void setQueryResultCache(QueryResultCache queryResultCache) {
+        this.queryResultCache = queryResultCache;
+    }
+
+    /**
+     * Near cache for documents fetched by id, null (the default) disables caching
+     *
+     * @param nearCache
+     */
+    public void setNearCache(DocumentNearCache nearCache) {
+        this.nearCache = nearCache;
+    }
+
+    /**
+     * Let concurrent identical reads (get by id, queryForPage, queryForObject and count) share a single request
+     * instead of each sending their own. Every caller gets its own mapped entities. Reads only join requests
+     * started after the last write or refresh of the index through this template, so callers still read their
+     * own writes. Defaults to false.
+     *
+     * @param coalesceReads
+     */
+    public void setCoalesceReads(boolean coalesceReads) {
+        this.singleFlight = coalesceReads ? new SingleFlight() : null;
+    }
+
     @Override
     public <T> boolean createIndex(Class<T> clazz) {
         ElasticsearchPersistentEntity<T> persistentEntity = getPersistentEntityFor(clazz);
@@ -73,93 +186,253 @@ public class ElasticsearchTemplate implements ElasticsearchOperations {
     }
 
     @Override
-    public <T> T queryForObject(GetQuery query, Class<T> clazz) {
+    public <T> T queryForObject(final GetQuery query, final Class<T> clazz) {
+        if(nearCache == null && singleFlight == null){
+            GetResponse response = prepareGet(query, clazz)
+                    .execute().actionGet();
+            return mapResult(response.getSourceAsString(), clazz);
+        }
         ElasticsearchPersistentEntity<T> persistentEntity = getPersistentEntityFor(clazz);
-        GetResponse response = client.prepareGet(persistentEntity.getIndexName(), persistentEntity.getIndexType(), query.getId())
-                .execute().actionGet();
+        final String indexName = persistentEntity.getIndexName();
+        final String type = persistentEntity.getIndexType();
+        String key = type + " " + query.getId();
+        DocumentNearCache.Entry entry = nearCache != null ? nearCache.get(indexName, type, query.getId()) : null;
+        if(entry != null){
+            if(!entry.isExpired()){
+                return mapResult(entry.getSource(), clazz);
+            }
+            if(nearCache.isRevalidateByVersion()){
+                GetResponse versionResponse = coalesce(indexName, "version " + key, new Callable<GetResponse>() {
+                    @Override
+                    public GetResponse call() {
+                        return prepareGet(query, clazz)
+                                .setFields()
+                                .execute().actionGet();
+                    }
+                });
+                if(versionResponse.exists() && versionResponse.getVersion() == entry.getVersion()){
+                    nearCache.revalidated(entry);
+                    return mapResult(entry.getSource(), clazz);
+                }
+            }
+        }
+        GetResponse response = coalesce(indexName, "get " + key, new Callable<GetResponse>() {
+            @Override
+            public GetResponse call() {
+                long generation = nearCache != null ? nearCache.generation(indexName) : 0;
+                GetResponse response = prepareGet(query, clazz)
+                        .execute().actionGet();
+                if(nearCache != null){
+                    if(response.exists()){
+                        nearCache.put(indexName, type, query.getId(), response.getSourceAsString(), response.getVersion(), generation);
+                    } else {
+                        nearCache.invalidate(indexName, type, query.getId());
+                    }
+                }
+                return response;
+            }
+        });
         return mapResult(response.getSourceAsString(), clazz);
     }
 
+    @Override
+    public <T> List<T> multiGet(Collection<String> ids, Class<T> clazz) {
+        List<T> results = new ArrayList<T>(ids.size());
+        for (MultiGetItemResponse item : executeMultiGet(ids, clazz, true)) {
+            if (item.getResponse().exists()) {
+                results.add(mapResult(item.getResponse().getSourceAsString(), clazz));
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public <T> Map<String, T> multiGetById(Collection<String> ids, Class<T> clazz) {
+        Map<String, T> results = new LinkedHashMap<String, T>();
+        for (MultiGetItemResponse item : executeMultiGet(ids, clazz, true)) {
+            if (item.getResponse().exists()) {
+                results.put(item.getId(), mapResult(item.getResponse().getSourceAsString(), clazz));
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public <T> boolean exists(Class<T> clazz, String id) {
+        ElasticsearchPersistentEntity<T> persistentEntity = getPersistentEntityFor(clazz);
+        return client.prepareGet(persistentEntity.getIndexName(), persistentEntity.getIndexType(), id)
+                .setFields()
+                .execute().actionGet().exists();
+    }
+
+    @Override
+    public <T> Set<String> existsAll(Class<T> clazz, Collection<String> ids) {
+        Set<String> existingIds = new LinkedHashSet<String>();
+        for (MultiGetItemResponse item : executeMultiGet(ids, clazz, false)) {
+            if (item.getResponse().exists()) {
+                existingIds.add(item.getId());
+            }
+        }
+        return existingIds;
+    }
+
     @Override
     public <T> T queryForObject(CriteriaQuery query, Class<T> clazz) {
-        Page<T> page =  queryForPage(query,clazz);
-        Assert.isTrue(page.getTotalElements() < 2, "Expected 1 but found "+  page.getTotalElements() +" results");
-        return page.getTotalElements() > 0? page.getContent().get(0) : null;
+        return singleResult(queryForPage(query, clazz));
+    }
+
+    @Override
+    public <T> T queryForObject(SearchQuery query, Class<T> clazz) {
+        return singleResult(queryForPage(query, clazz));
     }
 
     @Override
     public <T> T queryForObject(StringQuery query, Class<T> clazz) {
-        Page<T> page =  queryForPage(query,clazz);
-        Assert.isTrue(page.getTotalElements() < 2, "Expected 1 but found "+  page.getTotalElements() +" results");
-        return page.getTotalElements() > 0? page.getContent().get(0) : null;
+        return singleResult(queryForPage(query, clazz));
     }
 
     @Override
     public <T> Page<T> queryForPage(SearchQuery query, Class<T> clazz) {
-        SearchRequestBuilder searchRequestBuilder = prepareSearch(query,clazz);
-        if(query.getElasticsearchFilter() != null){
-            searchRequestBuilder.setFilter(query.getElasticsearchFilter());
-        }
-        SearchResponse response = searchRequestBuilder.setQuery(query.getElasticsearchQuery()).execute().actionGet();
-        return  mapResults(response, clazz, query.getPageable());
+        return queryForPage(prepareSearch(query, clazz), clazz, query.getPageable());
     }
 
     @Override
     public <T> Page<T> queryForPage(CriteriaQuery query, Class<T> clazz) {
-        QueryBuilder elasticsearchQuery = new CriteriaQueryProcessor().createQueryFromCriteria(query.getCriteria());
-        SearchResponse response =  prepareSearch(query,clazz)
-                .setQuery(elasticsearchQuery)
-                .execute().actionGet();
-        return  mapResults(response, clazz, query.getPageable());
+        return queryForPage(prepareSearch(query, clazz), clazz, query.getPageable());
     }
 
     @Override
     public <T> Page<T> queryForPage(StringQuery query, Class<T> clazz) {
-        SearchResponse response =  prepareSearch(query,clazz)
-                .setQuery(query.getSource())
+        return queryForPage(prepareSearch(query, clazz), clazz, query.getPageable());
+    }
+
+    @Override
+    public <T> FacetedPage<T> queryForFacetedPage(SearchQuery query, Class<T> clazz) {
+        SearchResponse response = prepareSearch(query, clazz)
                 .execute().actionGet();
-        return  mapResults(response, clazz, query.getPageable());
+        return new FacetedPage<T>(mapContent(response, clazz), query.getPageable(), response.getHits().totalHits(), mapFacets(response));
     }
 
     @Override
-    public <T> long count(SearchQuery query, Class<T> clazz) {
-        ElasticsearchPersistentEntity<T> persistentEntity = getPersistentEntityFor(clazz);
-        CountRequestBuilder countRequestBuilder = client.prepareCount(persistentEntity.getIndexName())
-                .setTypes(persistentEntity.getIndexType());
-        if(query.getElasticsearchQuery() != null){
-            countRequestBuilder.setQuery(query.getElasticsearchQuery());
+    public <T> List<FacetResult> queryForFacets(SearchQuery query, Class<T> clazz) {
+        SearchResponse response = prepareSearch(query, clazz)
+                .setSearchType(SearchType.COUNT)
+                .execute().actionGet();
+        return mapFacets(response);
+    }
+
+    @Override
+    public <T> SliceList<T> queryForList(SearchQuery query, Class<T> clazz) {
+        return queryForList(prepareSearch(query, clazz), query, clazz);
+    }
+
+    @Override
+    public <T> SliceList<T> queryForList(CriteriaQuery query, Class<T> clazz) {
+        return queryForList(prepareSearch(query, clazz), query, clazz);
+    }
+
+    @Override
+    public <T> SliceList<T> queryForList(StringQuery query, Class<T> clazz) {
+        return queryForList(prepareSearch(query, clazz), query, clazz);
+    }
+
+    private <T> SliceList<T> queryForList(SearchRequestBuilder searchRequestBuilder, Query query, Class<T> clazz) {
+        int pageSize = query.getPageable() != null ? query.getPageable().getPageSize() : DEFAULT_PAGE_SIZE;
+        List<T> content = mapContent(searchRequestBuilder.setSize(pageSize + 1).execute().actionGet(), clazz);
+        boolean hasNext = content.size() > pageSize;
+        return new SliceList<T>(hasNext ? content.subList(0, pageSize) : content, query.getPageable(), hasNext);
+    }
+
+    @Override
+    public List<Page<?>> multiSearch(MultiSearchQuery query) {
+        Assert.notEmpty(query.getEntries(), "MultiSearchQuery must contain at least one query");
+        MultiSearchRequestBuilder multiSearchRequestBuilder = client.prepareMultiSearch();
+        for (MultiSearchQuery.Entry entry : query.getEntries()) {
+            multiSearchRequestBuilder.add(prepareSearch(entry));
         }
-        return countRequestBuilder.execute().actionGet().count();
+        MultiSearchResponse.Item[] items = multiSearchRequestBuilder.execute().actionGet().getResponses();
+        List<Page<?>> pages = new ArrayList<Page<?>>(items.length);
+        for (int i = 0; i < items.length; i++) {
+            if (items[i].isFailure()) {
+                throw new ElasticsearchException("Multi search failed for query " + i + " : " + items[i].getFailureMessage());
+            }
+            MultiSearchQuery.Entry entry = query.getEntries().get(i);
+            pages.add(mapResults(items[i].getResponse(), entry.getClazz(), entry.getQuery().getPageable()));
+        }
+        return pages;
+    }
+
+    @Override
+    public <T> long count(SearchQuery query, Class<T> clazz) {
+        return count(prepareCount(query, clazz), String.valueOf(query.getElasticsearchQuery()), clazz);
+    }
+
+    @Override
+    public <T> long count(CriteriaQuery query, Class<T> clazz) {
+        QueryBuilder elasticsearchQuery = createQuery(query);
+        return count(prepareCount(clazz).setQuery(elasticsearchQuery), elasticsearchQuery.toString(), clazz);
+    }
+
+    @Override
+    public <T> long count(StringQuery query, Class<T> clazz) {
+        return count(prepareCount(clazz).setQuery(new BytesArray(query.getSource())), query.getSource(), clazz);
     }
 
     @Override
     public String index(IndexQuery query) {
-        return  prepareIndex(query)
-                .execute()
-                .actionGet().getId();
+        IndexRequestBuilder indexRequestBuilder = prepareIndex(query);
+        try {
+            return indexRequestBuilder
+                    .execute()
+                    .actionGet().getId();
+        } finally {
+            invalidateCaches(indexRequestBuilder.request());
+        }
     }
 
     @Override
     public void bulkIndex(List<IndexQuery> queries) {
+        BulkRequestBuilder bulkRequest = prepareBulkIndex(queries);
+        try {
+            checkForBulkIndexFailures(bulkRequest.execute().actionGet());
+        } finally {
+            invalidateCaches(bulkRequest.request().requests());
+        }
+    }
+
+    @Override
+    public void bulkDelete(String indexName, String type, Collection<String> ids) {
+        Assert.notEmpty(ids, "Ids must not be empty");
         BulkRequestBuilder bulkRequest = client.prepareBulk();
-        for(IndexQuery query : queries){
-            bulkRequest.add(prepareIndex(query));
+        for (String id : ids) {
+            bulkRequest.add(client.prepareDelete(indexName, type, id));
         }
-        BulkResponse bulkResponse = bulkRequest.execute().actionGet();
-        if (bulkResponse.hasFailures()) {
-            Map<String, String> failedDocuments = new HashMap<String, String>();
-            for (BulkItemResponse item : bulkResponse.items()) {
-                if (item.failed())
-                    failedDocuments.put(item.getId(), item.failureMessage());
-            }
-            throw new ElasticsearchException("Bulk indexing has failures. Use ElasticsearchException.getFailedDocuments() for detailed messages [" + failedDocuments+"]", failedDocuments);
+        try {
+            checkForBulkFailures(bulkRequest.execute().actionGet(), "Bulk delete");
+        } finally {
+            invalidateCaches(bulkRequest.request().requests());
         }
     }
 
+    @Override
+    public <T> void bulkDelete(Class<T> clazz, Collection<String> ids) {
+        ElasticsearchPersistentEntity persistentEntity = getPersistentEntityFor(clazz);
+        bulkDelete(persistentEntity.getIndexName(), persistentEntity.getIndexType(), ids);
+    }
+
+    @Override
+    public ElasticsearchBulkProcessor bulkProcessor(BulkOptions options, BulkFailureListener failureListener) {
+        return new ElasticsearchBulkProcessor(client, this, options, failureListener);
+    }
+
     @Override
     public String delete(String indexName, String type, String id) {
-        return client.prepareDelete(indexName, type, id)
-                .execute().actionGet().getId();
+        try {
+            return client.prepareDelete(indexName, type, id)
+                    .execute().actionGet().getId();
+        } finally {
+            invalidateCaches(indexName, type, id);
+        }
     }
 
     @Override
@@ -171,10 +444,276 @@ public class ElasticsearchTemplate implements ElasticsearchOperations {
     @Override
     public <T> void delete(DeleteQuery query, Class<T> clazz) {
         ElasticsearchPersistentEntity persistentEntity = getPersistentEntityFor(clazz);
-        client.prepareDeleteByQuery(persistentEntity.getIndexName())
-                .setTypes(persistentEntity.getIndexType())
-                .setQuery(query.getElasticsearchQuery())
+        try {
+            client.prepareDeleteByQuery(persistentEntity.getIndexName())
+                    .setTypes(persistentEntity.getIndexType())
+                    .setQuery(query.getElasticsearchQuery())
+                    .execute().actionGet();
+        } finally {
+            invalidateCaches(persistentEntity.getIndexName());
+        }
+    }
+
+    @Override
+    public <T> Future<T> queryForObjectAsync(GetQuery query, final Class<T> clazz) {
+        return new MappingActionFuture<GetResponse, T>(prepareGet(query, clazz).execute()) {
+            @Override
+            protected T map(GetResponse response) {
+                return mapResult(response.getSourceAsString(), clazz);
+            }
+        };
+    }
+
+    @Override
+    public <T> Future<T> queryForObjectAsync(CriteriaQuery query, final Class<T> clazz) {
+        return new MappingActionFuture<SearchResponse, T>(prepareSearch(query, clazz).execute()) {
+            @Override
+            protected T map(SearchResponse response) {
+                return singleResult(mapResults(response, clazz, null));
+            }
+        };
+    }
+
+    @Override
+    public <T> Future<T> queryForObjectAsync(StringQuery query, final Class<T> clazz) {
+        return new MappingActionFuture<SearchResponse, T>(prepareSearch(query, clazz).execute()) {
+            @Override
+            protected T map(SearchResponse response) {
+                return singleResult(mapResults(response, clazz, null));
+            }
+        };
+    }
+
+    @Override
+    public <T> Future<Page<T>> queryForPageAsync(SearchQuery query, Class<T> clazz) {
+        return mapResultsAsync(prepareSearch(query, clazz).execute(), clazz, query.getPageable());
+    }
+
+    @Override
+    public <T> Future<Page<T>> queryForPageAsync(CriteriaQuery query, Class<T> clazz) {
+        return mapResultsAsync(prepareSearch(query, clazz).execute(), clazz, query.getPageable());
+    }
+
+    @Override
+    public <T> Future<Page<T>> queryForPageAsync(StringQuery query, Class<T> clazz) {
+        return mapResultsAsync(prepareSearch(query, clazz).execute(), clazz, query.getPageable());
+    }
+
+    @Override
+    public <T> Future<Long> countAsync(SearchQuery query, Class<T> clazz) {
+        return new MappingActionFuture<CountResponse, Long>(prepareCount(query, clazz).execute()) {
+            @Override
+            protected Long map(CountResponse response) {
+                return response.count();
+            }
+        };
+    }
+
+    @Override
+    public Future<String> indexAsync(IndexQuery query) {
+        final IndexRequestBuilder indexRequestBuilder = prepareIndex(query);
+        return new MappingActionFuture<IndexResponse, String>(indexRequestBuilder.execute(), new Runnable() {
+            @Override
+            public void run() {
+                invalidateCaches(indexRequestBuilder.request());
+            }
+        }) {
+            @Override
+            protected String map(IndexResponse response) {
+                return response.getId();
+            }
+        };
+    }
+
+    @Override
+    public Future<Void> bulkIndexAsync(List<IndexQuery> queries) {
+        final BulkRequestBuilder bulkRequest = prepareBulkIndex(queries);
+        return new MappingActionFuture<BulkResponse, Void>(bulkRequest.execute(), new Runnable() {
+            @Override
+            public void run() {
+                invalidateCaches(bulkRequest.request().requests());
+            }
+        }) {
+            @Override
+            protected Void map(BulkResponse response) {
+                checkForBulkIndexFailures(response);
+                return null;
+            }
+        };
+    }
+
+    @Override
+    public Future<String> deleteAsync(final String indexName, final String type, final String id) {
+        return new MappingActionFuture<DeleteResponse, String>(client.prepareDelete(indexName, type, id).execute(), new Runnable() {
+            @Override
+            public void run() {
+                invalidateCaches(indexName, type, id);
+            }
+        }) {
+            @Override
+            protected String map(DeleteResponse response) {
+                return response.getId();
+            }
+        };
+    }
+
+    @Override
+    public <T> Future<String> deleteAsync(Class<T> clazz, String id) {
+        ElasticsearchPersistentEntity persistentEntity = getPersistentEntityFor(clazz);
+        return deleteAsync(persistentEntity.getIndexName(), persistentEntity.getIndexType(), id);
+    }
+
+    @Override
+    public <T> String scan(SearchQuery query, long scrollTimeInMillis, Class<T> clazz) {
+        return checkScrollResponse(prepareScroll(query, SCAN, scrollTimeInMillis, clazz)
+                .execute().actionGet()).getScrollId();
+    }
+
+    @Override
+    public <T> ScrolledPage<T> scroll(String scrollId, long scrollTimeInMillis, Class<T> clazz) {
+        SearchResponse response = checkScrollResponse(client.prepareSearchScroll(scrollId)
+                .setScroll(TimeValue.timeValueMillis(scrollTimeInMillis))
+                .execute().actionGet());
+        Page<T> page = mapResults(response, clazz, null);
+        return new ScrolledPage<T>(page.getContent(), page.getTotalElements(), response.getScrollId());
+    }
+
+    @Override
+    public <T> CloseableIterator<T> stream(SearchQuery query, final Class<T> clazz) {
+        return new ScrollingIterator<T>(prepareStream(prepareSearch(query, clazz), query).execute().actionGet()) {
+            @Override
+            protected List<T> map(SearchResponse response) {
+                return mapResults(response, clazz, null).getContent();
+            }
+        };
+    }
+
+    @Override
+    public <T> List<String> queryForIds(SearchQuery query, Class<T> clazz) {
+        return mapIds(prepareSearch(query, clazz, false).execute().actionGet());
+    }
+
+    @Override
+    public <T> List<String> queryForIds(CriteriaQuery query, Class<T> clazz) {
+        return mapIds(prepareSearch(query, clazz, false).execute().actionGet());
+    }
+
+    @Override
+    public <T> KeysetPage<T> queryForKeysetPage(SearchQuery query, String tiebreaker, Keyset after, Class<T> clazz) {
+        QueryBuilder elasticsearchQuery = query.getElasticsearchQuery() != null ? query.getElasticsearchQuery() : matchAllQuery();
+        return queryForKeysetPage(prepareSearch(query, clazz), elasticsearchQuery, query, tiebreaker, after, clazz);
+    }
+
+    @Override
+    public <T> KeysetPage<T> queryForKeysetPage(CriteriaQuery query, String tiebreaker, Keyset after, Class<T> clazz) {
+        return queryForKeysetPage(prepareSearch(query, clazz), createQuery(query), query, tiebreaker, after, clazz);
+    }
+
+    @Override
+    public <T> CloseableIterator<String> streamIds(SearchQuery query, Class<T> clazz) {
+        return streamIds(prepareSearch(query, clazz, false), query);
+    }
+
+    @Override
+    public <T> CloseableIterator<String> streamIds(CriteriaQuery query, Class<T> clazz) {
+        return streamIds(prepareSearch(query, clazz, false), query);
+    }
+
+    private CloseableIterator<String> streamIds(SearchRequestBuilder searchRequestBuilder, Query query) {
+        SearchResponse initialResponse = prepareStream(searchRequestBuilder, query)
                 .execute().actionGet();
+        return new ScrollingIterator<String>(initialResponse) {
+            @Override
+            protected List<String> map(SearchResponse response) {
+                return mapIds(response);
+            }
+        };
+    }
+
+    private SearchRequestBuilder prepareStream(SearchRequestBuilder searchRequestBuilder, Query query){
+        // scan does not support sorting, sorted results are scrolled page by page instead
+        return searchRequestBuilder
+                .setSearchType(query.getSort() != null ? QUERY_THEN_FETCH : SCAN)
+                .setFrom(0)
+                .setScroll(TimeValue.timeValueMillis(DEFAULT_SCROLL_TIME_IN_MILLIS));
+    }
+
+    /**
+     * Shard failures do not fail a scroll request, the remaining documents of a failed shard would silently be missing
+     */
+    private static SearchResponse checkScrollResponse(SearchResponse response){
+        if (response.getFailedShards() > 0) {
+            StringBuilder reasons = new StringBuilder();
+            for (ShardSearchFailure failure : response.getShardFailures()) {
+                reasons.append(" [").append(failure.reason()).append("]");
+            }
+            throw new ElasticsearchException("Scroll failed on " + response.getFailedShards() + " of "
+                    + response.getTotalShards() + " shards:" + reasons);
+        }
+        return response;
+    }
+
+    private List<String> mapIds(SearchResponse response){
+        List<String> ids = new ArrayList<String>(response.getHits().getHits().length);
+        for (SearchHit hit : response.getHits()) {
+            ids.add(hit.getId());
+        }
+        return ids;
+    }
+
+    /**
+     * Iterates over the hits of a scroll, fetching the next batch once the current one is consumed
+     */
+    private abstract class ScrollingIterator<R> implements CloseableIterator<R> {
+
+        private String scrollId;
+        private Iterator<R> currentHits;
+        private boolean finished = false;
+
+        ScrollingIterator(SearchResponse initialResponse) {
+            checkScrollResponse(initialResponse);
+            this.scrollId = initialResponse.getScrollId();
+            this.currentHits = map(initialResponse).iterator();
+        }
+
+        protected abstract List<R> map(SearchResponse response);
+
+        @Override
+        public boolean hasNext() {
+            if (currentHits.hasNext()) {
+                return true;
+            }
+            if (finished) {
+                return false;
+            }
+            SearchResponse response = checkScrollResponse(client.prepareSearchScroll(scrollId)
+                    .setScroll(TimeValue.timeValueMillis(DEFAULT_SCROLL_TIME_IN_MILLIS))
+                    .execute().actionGet());
+            scrollId = response.getScrollId();
+            currentHits = map(response).iterator();
+            finished = response.getHits().getHits().length == 0;
+            return currentHits.hasNext();
+        }
+
+        @Override
+        public R next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return currentHits.next();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("remove");
+        }
+
+        @Override
+        public void close() {
+            // no clear scroll api available, the scroll context on the server expires with the keep alive
+            finished = true;
+            currentHits = Collections.<R>emptyList().iterator();
+        }
     }
 
     private boolean createIndexIfNotCreated(String indexName) {
@@ -192,17 +731,232 @@ public class ElasticsearchTemplate implements ElasticsearchOperations {
                 settings(new MapBuilder<String, String>().put("index.refresh_interval", "-1").map())).actionGet().acknowledged();
     }
 
+    private <T> GetRequestBuilder prepareGet(GetQuery query, Class<T> clazz){
+        ElasticsearchPersistentEntity<T> persistentEntity = getPersistentEntityFor(clazz);
+        return client.prepareGet(persistentEntity.getIndexName(), persistentEntity.getIndexType(), query.getId());
+    }
+
+    /**
+     * Executes the batches in parallel and returns the item responses in the order of the given ids
+     */
+    private <T> List<MultiGetItemResponse> executeMultiGet(Collection<String> ids, Class<T> clazz, boolean fetchSource){
+        List<ActionFuture<MultiGetResponse>> futures = new ArrayList<ActionFuture<MultiGetResponse>>();
+        for (List<String> batch : partition(ids, multiGetBatchSize)) {
+            futures.add(prepareMultiGet(batch, clazz, fetchSource).execute());
+        }
+        List<MultiGetItemResponse> items = new ArrayList<MultiGetItemResponse>(ids.size());
+        Map<String, String> failedDocuments = new HashMap<String, String>();
+        for (ActionFuture<MultiGetResponse> future : futures) {
+            for (MultiGetItemResponse item : future.actionGet().responses()) {
+                if (item.failed()) {
+                    failedDocuments.put(item.getId(), item.getFailure().getMessage());
+                } else {
+                    items.add(item);
+                }
+            }
+        }
+        if (!failedDocuments.isEmpty()) {
+            throw new ElasticsearchException("Multi get has failures. Use ElasticsearchException.getFailedDocuments() for detailed messages [" + failedDocuments + "]", failedDocuments);
+        }
+        return items;
+    }
+
+    private <T> MultiGetRequestBuilder prepareMultiGet(Collection<String> ids, Class<T> clazz, boolean fetchSource){
+        ElasticsearchPersistentEntity<T> persistentEntity = getPersistentEntityFor(clazz);
+        MultiGetRequestBuilder multiGetRequestBuilder = client.prepareMultiGet();
+        for (String id : ids) {
+            MultiGetRequest.Item item = new MultiGetRequest.Item(persistentEntity.getIndexName(), persistentEntity.getIndexType(), id);
+            multiGetRequestBuilder.add(fetchSource ? item : item.fields(new String[0]));
+        }
+        return multiGetRequestBuilder;
+    }
+
+    private static List<List<String>> partition(Collection<String> ids, int batchSize){
+        List<List<String>> batches = new ArrayList<List<String>>();
+        List<String> batch = new ArrayList<String>(Math.min(batchSize, ids.size()));
+        for (String id : ids) {
+            if (batch.size() == batchSize) {
+                batches.add(batch);
+                batch = new ArrayList<String>(batchSize);
+            }
+            batch.add(id);
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    private <T> CountRequestBuilder prepareCount(SearchQuery query, Class<T> clazz){
+        CountRequestBuilder countRequestBuilder = prepareCount(clazz);
+        if(query.getElasticsearchQuery() != null){
+            countRequestBuilder.setQuery(query.getElasticsearchQuery());
+        }
+        return countRequestBuilder;
+    }
+
+    private <T> KeysetPage<T> queryForKeysetPage(SearchRequestBuilder searchRequestBuilder, QueryBuilder elasticsearchQuery,
+                                                 Query query, String tiebreaker, Keyset after, Class<T> clazz){
+        Assert.hasText(tiebreaker, "Tiebreaker field must not be empty");
+        List<Sort.Order> orders = new ArrayList<Sort.Order>();
+        if(query.getSort() != null){
+            for(Sort.Order order : query.getSort()){
+                orders.add(order);
+            }
+        }
+        if(orders.isEmpty() || !tiebreaker.equals(orders.get(orders.size() - 1).getProperty())){
+            orders.add(new Sort.Order(Sort.Direction.ASC, tiebreaker));
+            searchRequestBuilder.addSort(tiebreaker, SortOrder.ASC);
+        }
+        if(after != null){
+            Assert.isTrue(after.getValues().size() == orders.size(), "Keyset " + after + " does not match sort " + orders);
+            elasticsearchQuery = filteredQuery(elasticsearchQuery, keysetFilter(orders, after.getValues()));
+        }
+        int pageSize = query.getPageable() != null ? query.getPageable().getPageSize() : DEFAULT_PAGE_SIZE;
+        SearchResponse response = searchRequestBuilder.setQuery(elasticsearchQuery)
+                .setFrom(0)
+                .setSize(pageSize + 1)
+                .execute().actionGet();
+
+        SearchHit[] hits = response.getHits().getHits();
+        List<T> content = new ArrayList<T>();
+        Keyset last = null;
+        for (int i = 0; i < hits.length && i < pageSize; i++) {
+            content.add(mapResult(hits[i], clazz));
+            last = new Keyset(sortValues(hits[i]));
+        }
+        return new KeysetPage<T>(content, hits.length > pageSize ? last : null);
+    }
+
+    /**
+     * Matches documents sorting strictly after the given values, i.e. for sort fields f1..fn:
+     * (f1 after v1) or (f1 = v1 and f2 after v2) or ... (f1 = v1 and ... and fn after vn)
+     */
+    private FilterBuilder keysetFilter(List<Sort.Order> orders, List<Object> values){
+        BoolFilterBuilder keysetFilter = boolFilter();
+        for (int i = 0; i < orders.size(); i++) {
+            BoolFilterBuilder clause = boolFilter();
+            for (int j = 0; j < i; j++) {
+                clause.must(termFilter(orders.get(j).getProperty(), values.get(j)));
+            }
+            RangeFilterBuilder range = rangeFilter(orders.get(i).getProperty());
+            clause.must(orders.get(i).isAscending() ? range.gt(values.get(i)) : range.lt(values.get(i)));
+            keysetFilter.should(clause);
+        }
+        return keysetFilter;
+    }
+
+    private List<Object> sortValues(SearchHit hit){
+        List<Object> values = new ArrayList<Object>();
+        for (Object value : hit.getSortValues()) {
+            values.add(value instanceof Number || value instanceof Boolean ? value : String.valueOf(value));
+        }
+        return values;
+    }
+
+    private <T> CountRequestBuilder prepareCount(Class<T> clazz){
+        ElasticsearchPersistentEntity<T> persistentEntity = getPersistentEntityFor(clazz);
+        return client.prepareCount(persistentEntity.getIndexName())
+                .setTypes(persistentEntity.getIndexType());
+    }
+
+    private BulkRequestBuilder prepareBulkIndex(List<IndexQuery> queries){
+        BulkRequestBuilder bulkRequest = client.prepareBulk();
+        for(IndexQuery query : queries){
+            bulkRequest.add(prepareIndex(query));
+        }
+        return bulkRequest;
+    }
+
+    private void checkForBulkIndexFailures(BulkResponse bulkResponse){
+        checkForBulkFailures(bulkResponse, "Bulk indexing");
+    }
+
+    private void checkForBulkFailures(BulkResponse bulkResponse, String operation){
+        if (bulkResponse.hasFailures()) {
+            Map<String, String> failedDocuments = new HashMap<String, String>();
+            for (BulkItemResponse item : bulkResponse.items()) {
+                if (item.failed())
+                    failedDocuments.put(item.getId(), item.failureMessage());
+            }
+            throw new ElasticsearchException(operation + " has failures. Use ElasticsearchException.getFailedDocuments() for detailed messages [" + failedDocuments+"]", failedDocuments);
+        }
+    }
+
+    private <T> SearchRequestBuilder prepareSearch(SearchQuery query, Class<T> clazz){
+        return prepareSearch(query, clazz, true);
+    }
+
+    private <T> SearchRequestBuilder prepareSearch(SearchQuery query, Class<T> clazz, boolean fetchSource){
+        SearchRequestBuilder searchRequestBuilder = prepareSearch((Query) query, clazz, fetchSource);
+        if(query.getElasticsearchFilter() != null){
+            searchRequestBuilder.setFilter(query.getElasticsearchFilter());
+        }
+        for(AbstractFacetBuilder facet : query.getFacets()){
+            searchRequestBuilder.addFacet(facet);
+        }
+        return searchRequestBuilder.setQuery(query.getElasticsearchQuery());
+    }
+
+    private <T> SearchRequestBuilder prepareSearch(CriteriaQuery query, Class<T> clazz){
+        return prepareSearch(query, clazz, true);
+    }
+
+    private <T> SearchRequestBuilder prepareSearch(CriteriaQuery query, Class<T> clazz, boolean fetchSource){
+        return prepareSearch((Query) query, clazz, fetchSource)
+                .setQuery(createQuery(query));
+    }
+
+    private QueryBuilder createQuery(CriteriaQuery query){
+        QueryBuilder elasticsearchQuery = query.getCriteria() != null ?
+                new CriteriaQueryProcessor().createQueryFromCriteria(query.getCriteria()) : matchAllQuery();
+        if (query.getFilterCriteria() != null) {
+            elasticsearchQuery = filteredQuery(elasticsearchQuery, new CriteriaFilterProcessor().createFilterFromCriteria(query.getFilterCriteria()));
+        }
+        return elasticsearchQuery;
+    }
+
+    private <T> SearchRequestBuilder prepareSearch(StringQuery query, Class<T> clazz){
+        return prepareSearch((Query) query, clazz)
+                .setQuery(query.getSource());
+    }
+
+    private SearchRequestBuilder prepareSearch(MultiSearchQuery.Entry entry){
+        Query query = entry.getQuery();
+        if (query instanceof SearchQuery) {
+            return prepareSearch((SearchQuery) query, entry.getClazz());
+        }
+        if (query instanceof CriteriaQuery) {
+            return prepareSearch((CriteriaQuery) query, entry.getClazz());
+        }
+        return prepareSearch((StringQuery) query, entry.getClazz());
+    }
+
     private <T> SearchRequestBuilder prepareSearch(Query query, Class<T> clazz){
+        return prepareSearch(query, clazz, true);
+    }
+
+    /**
+     * @param fetchSource false to only fetch the ids of the hits, fields requested by the query are ignored then
+     */
+    private <T> SearchRequestBuilder prepareSearch(Query query, Class<T> clazz, boolean fetchSource){
         int startRecord=0;
         if(query.getPageable() != null){
-            startRecord = ((query.getPageable().getPageNumber() - 1) * query.getPageable().getPageSize());
+            startRecord = query.getPageable().getPageNumber() * query.getPageable().getPageSize();
         }
         ElasticsearchPersistentEntity persistentEntity = getPersistentEntityFor(clazz);
         SearchRequestBuilder searchRequestBuilder = client.prepareSearch(persistentEntity.getIndexName())
-                .setSearchType(DFS_QUERY_THEN_FETCH)
+                .setSearchType(query.getSearchType() != null ? query.getSearchType() : searchType)
                 .setTypes(persistentEntity.getIndexType())
-                .setFrom(startRecord < 0 ? 0 : startRecord)
-                .setSize(query.getPageable() != null ? query.getPageable().getPageSize() : 10);
+                .setFrom(startRecord)
+                .setSize(query.getPageable() != null ? query.getPageable().getPageSize() : DEFAULT_PAGE_SIZE);
+
+        if(!fetchSource){
+            searchRequestBuilder.setNoFields();
+        } else if(!query.getFields().isEmpty()){
+            searchRequestBuilder.setNoFields()
+                    .addPartialField(PARTIAL_SOURCE_FIELD, query.getFields().toArray(new String[query.getFields().size()]), null);
+        }
 
         if(query.getSort() != null){
             for(Sort.Order order : query.getSort()){
@@ -212,7 +966,14 @@ public class ElasticsearchTemplate implements ElasticsearchOperations {
         return searchRequestBuilder;
     }
 
-    private IndexRequestBuilder prepareIndex(IndexQuery query){
+    private <T> SearchRequestBuilder prepareScroll(SearchQuery query, SearchType searchType, long scrollTimeInMillis, Class<T> clazz){
+        return prepareSearch(query, clazz)
+                .setSearchType(searchType)
+                .setFrom(0)
+                .setScroll(TimeValue.timeValueMillis(scrollTimeInMillis));
+    }
+
+    IndexRequestBuilder prepareIndex(IndexQuery query){
         try {
             ElasticsearchPersistentEntity persistentEntity = getPersistentEntityFor(query.getObject().getClass());
             return client.prepareIndex(persistentEntity.getIndexName(), persistentEntity.getIndexType(), query.getId())
@@ -225,35 +986,225 @@ public class ElasticsearchTemplate implements ElasticsearchOperations {
     public void refresh(String indexName, boolean waitForOperation) {
         client.admin().indices()
                 .refresh(refreshRequest(indexName).waitForOperations(waitForOperation)).actionGet();
+        indexChanged(indexName);
     }
 
     public <T> void refresh(Class<T> clazz, boolean waitForOperation) {
         ElasticsearchPersistentEntity persistentEntity = getPersistentEntityFor(clazz);
-        client.admin().indices()
-                .refresh(refreshRequest(persistentEntity.getIndexName()).waitForOperations(waitForOperation)).actionGet();
+        refresh(persistentEntity.getIndexName(), waitForOperation);
     }
 
-    private ElasticsearchPersistentEntity getPersistentEntityFor(Class clazz){
+    ElasticsearchPersistentEntity getPersistentEntityFor(Class clazz){
         return elasticsearchConverter.getMappingContext().getPersistentEntity(clazz);
     }
 
+    private <T> Page<T> queryForPage(final SearchRequestBuilder searchRequestBuilder, final Class<T> clazz, final Pageable pageable){
+        if(queryResultCache == null && singleFlight == null){
+            return mapResults(searchRequestBuilder.execute().actionGet(), clazz, pageable);
+        }
+        final String indexName = getPersistentEntityFor(clazz).getIndexName();
+        final String request = "search " + clazz.getName() + " " + searchRequestBuilder.request().searchType() + " " + searchRequestBuilder.internalBuilder();
+        if(queryResultCache != null){
+            RawHits hits = (RawHits) queryResultCache.get(indexName, request);
+            if(hits != null){
+                return mapRawHits(hits, clazz, pageable);
+            }
+        }
+        RawHits hits = coalesce(indexName, request, new Callable<RawHits>() {
+            @Override
+            public RawHits call() {
+                long generation = queryResultCache != null ? queryResultCache.generation(indexName) : 0;
+                RawHits hits = new RawHits(searchRequestBuilder.execute().actionGet());
+                if(queryResultCache != null){
+                    queryResultCache.put(indexName, request, hits, generation);
+                }
+                return hits;
+            }
+        });
+        return mapRawHits(hits, clazz, pageable);
+    }
+
+    private <T> long count(final CountRequestBuilder countRequestBuilder, String querySource, Class<T> clazz){
+        if(queryResultCache == null && singleFlight == null){
+            return countRequestBuilder.execute().actionGet().count();
+        }
+        ElasticsearchPersistentEntity persistentEntity = getPersistentEntityFor(clazz);
+        final String indexName = persistentEntity.getIndexName();
+        final String request = "count " + persistentEntity.getIndexType() + " " + querySource;
+        if(queryResultCache != null){
+            Long count = (Long) queryResultCache.get(indexName, request);
+            if(count != null){
+                return count;
+            }
+        }
+        return coalesce(indexName, request, new Callable<Long>() {
+            @Override
+            public Long call() {
+                long generation = queryResultCache != null ? queryResultCache.generation(indexName) : 0;
+                Long count = countRequestBuilder.execute().actionGet().count();
+                if(queryResultCache != null){
+                    queryResultCache.put(indexName, request, count, generation);
+                }
+                return count;
+            }
+        });
+    }
+
+    /**
+     * Runs the loader, sharing a single execution between concurrent callers with the same key if reads are coalesced.
+     * The key includes the write generation of the index so that reads never join a request started before a write
+     */
+    private <R> R coalesce(String indexName, String key, Callable<R> loader){
+        if(singleFlight != null){
+            AtomicLong writeGeneration = writeGenerations.get(indexName);
+            return singleFlight.execute(indexName + " " + (writeGeneration != null ? writeGeneration.get() : 0) + " " + key, loader);
+        }
+        try {
+            return loader.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ElasticsearchException("Request [" + key + "] failed", e);
+        }
+    }
+
+    void invalidateCaches(List<ActionRequest> requests){
+        Set<String> indexNames = new LinkedHashSet<String>();
+        for (ActionRequest request : requests) {
+            if (request instanceof IndexRequest) {
+                IndexRequest indexRequest = (IndexRequest) request;
+                indexNames.add(indexRequest.index());
+                invalidateNearCache(indexRequest.index(), indexRequest.type(), indexRequest.id());
+            } else if (request instanceof DeleteRequest) {
+                DeleteRequest deleteRequest = (DeleteRequest) request;
+                indexNames.add(deleteRequest.index());
+                invalidateNearCache(deleteRequest.index(), deleteRequest.type(), deleteRequest.id());
+            }
+        }
+        for (String indexName : indexNames) {
+            indexChanged(indexName);
+        }
+    }
+
+    private void invalidateCaches(IndexRequest request){
+        invalidateCaches(Collections.<ActionRequest>singletonList(request));
+    }
+
+    private void invalidateCaches(String indexName, String type, String id){
+        invalidateNearCache(indexName, type, id);
+        indexChanged(indexName);
+    }
+
+    private void invalidateCaches(String indexName){
+        if(nearCache != null){
+            nearCache.invalidate(indexName);
+        }
+        indexChanged(indexName);
+    }
+
+    private void invalidateNearCache(String indexName, String type, String id){
+        if(nearCache != null && id != null){
+            nearCache.invalidate(indexName, type, id);
+        }
+    }
+
+    /**
+     * Invalidates the cached results of the index and starts a new write generation, reads coalesced from then on
+     * no longer join requests that may have been sent before the change
+     */
+    private void indexChanged(String indexName){
+        AtomicLong writeGeneration = writeGenerations.get(indexName);
+        if(writeGeneration == null){
+            AtomicLong existing = writeGenerations.putIfAbsent(indexName, writeGeneration = new AtomicLong());
+            if(existing != null){
+                writeGeneration = existing;
+            }
+        }
+        writeGeneration.incrementAndGet();
+        if(queryResultCache != null){
+            queryResultCache.invalidate(indexName);
+        }
+    }
+
     private <T> Page<T> mapResults(SearchResponse response, final Class<T> elementType,final Pageable pageable){
         ResultsMapper<T> resultsMapper =  new ResultsMapper<T>(){
             @Override
             public Page<T> mapResults(SearchResponse response) {
                 long totalHits =  response.getHits().totalHits();
-                List<T> results = new ArrayList<T>();
-                for (SearchHit hit : response.getHits()) {
-                    if (hit != null) {
-                        results.add(mapResult(hit.sourceAsString(), elementType));
-                    }
-                }
-                return new PageImpl<T>(results, pageable, totalHits);
+                return new PageImpl<T>(mapContent(response, elementType), pageable, totalHits);
             }
         };
         return resultsMapper.mapResults(response);
     }
 
+    private List<FacetResult> mapFacets(SearchResponse response){
+        List<FacetResult> facets = new ArrayList<FacetResult>();
+        if (response.getFacets() != null) {
+            for (Facet facet : response.getFacets()) {
+                FacetResult facetResult = DefaultFacetMapper.parse(facet);
+                if (facetResult != null) {
+                    facets.add(facetResult);
+                }
+            }
+        }
+        return facets;
+    }
+
+    private <T> List<T> mapContent(SearchResponse response, Class<T> elementType){
+        List<T> results = new ArrayList<T>();
+        for (SearchHit hit : response.getHits()) {
+            if (hit != null) {
+                results.add(mapResult(hit, elementType));
+            }
+        }
+        return results;
+    }
+
+    private <T> Page<T> mapRawHits(RawHits hits, Class<T> elementType, Pageable pageable){
+        List<T> results = new ArrayList<T>(hits.sources.size());
+        for (Object source : hits.sources) {
+            results.add(mapRawSource(source, elementType));
+        }
+        return new PageImpl<T>(results, pageable, hits.totalHits);
+    }
+
+    private <T> Future<Page<T>> mapResultsAsync(ActionFuture<SearchResponse> future, final Class<T> elementType, final Pageable pageable){
+        return new MappingActionFuture<SearchResponse, Page<T>>(future) {
+            @Override
+            protected Page<T> map(SearchResponse response) {
+                return mapResults(response, elementType, pageable);
+            }
+        };
+    }
+
+    private <T> T singleResult(Page<T> page){
+        Assert.isTrue(page.getTotalElements() < 2, "Expected 1 but found "+  page.getTotalElements() +" results");
+        return page.getTotalElements() > 0? page.getContent().get(0) : null;
+    }
+
+    private <T> T mapResult(SearchHit hit, Class<T> clazz){
+        return mapRawSource(rawSource(hit), clazz);
+    }
+
+    /**
+     * @return source of the hit as string, or the value of the partial source if only some fields were requested
+     */
+    private static Object rawSource(SearchHit hit){
+        SearchHitField partialSource = hit.field(PARTIAL_SOURCE_FIELD);
+        return partialSource != null ? partialSource.getValue() : hit.sourceAsString();
+    }
+
+    private <T> T mapRawSource(Object source, Class<T> clazz){
+        if(source == null || source instanceof String){
+            return mapResult((String) source, clazz);
+        }
+        try {
+            return objectMapper.convertValue(source, clazz);
+        } catch (IllegalArgumentException e) {
+            throw new ElasticsearchException("failed to map partial source [ " + source + "] to class " + clazz.getSimpleName() , e);
+        }
+    }
+
     private <T> T mapResult(String source, Class<T> clazz){
         if(isBlank(source)){
             return null;
@@ -264,4 +1215,22 @@ public class ElasticsearchTemplate implements ElasticsearchOperations {
             throw new ElasticsearchException("failed to map source [ " + source + "] to class " + clazz.getSimpleName() , e);
         }
     }
+
+    /**
+     * Sources and total of a search response, kept instead of mapped entities so that every caller gets its own
+     */
+    private static class RawHits {
+
+        private final List<Object> sources = new ArrayList<Object>();
+        private final long totalHits;
+
+        private RawHits(SearchResponse response) {
+            for (SearchHit hit : response.getHits()) {
+                if (hit != null) {
+                    sources.add(rawSource(hit));
+                }
+            }
+            this.totalHits = response.getHits().totalHits();
+        }
+    }
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.elasticsearch.core;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.facet.FacetResult;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link org.springframework.data.domain.Page} carrying the facets computed for the query
+ *
+ * @param <T>
+ */
+public class FacetedPage<T> extends PageImpl<T> {
+
+    private final List<FacetResult> facets;
+
+    public FacetedPage(List<T> content, Pageable pageable, long total, List<FacetResult> facets) {
+        super(content, pageable, total);
+        this.facets = Collections.unmodifiableList(facets);
+    }
+
+    public boolean hasFacets() {
+        return !facets.isEmpty();
+    }
+
+    public List<FacetResult> getFacets() {
+        return facets;
+    }
+
+    /**
+     * @param name
+     * @return facet with the given name, null if there is none
+     */
+    public FacetResult getFacet(String name) {
+        for (FacetResult facet : facets) {
+            if (facet.getName().equals(name)) {
+                return facet;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.elasticsearch.core;
+
+import org.springframework.data.elasticsearch.core.query.Keyset;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Window of results fetched by keyset pagination. Carries no total number of hits, only whether another window follows.
+ *
+ * @param <T>
+ */
+public class KeysetPage<T> implements Iterable<T> {
+
+    private final List<T> content;
+    private final Keyset nextKeyset;
+
+    public KeysetPage(List<T> content, Keyset nextKeyset) {
+        this.content = Collections.unmodifiableList(content);
+        this.nextKeyset = nextKeyset;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public boolean hasNext() {
+        return nextKeyset != null;
+    }
+
+    /**
+     * @return keyset of the last element of this window, null if this is the last window
+     */
+    public Keyset getNextKeyset() {
+        return nextKeyset;
+    }
+
+    /**
+     * @return cursor of the next window, null if this is the last window
+     */
+    public String getNextCursor() {
+        return nextKeyset != null ? nextKeyset.toCursor() : null;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return content.iterator();
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.elasticsearch.core;
+
+import org.elasticsearch.action.ActionFuture;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.ListenableActionFuture;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link Future} mapping the response of an asynchronously executed elasticsearch action once it is requested.
+ * An optional completion hook runs once when the action has completed, successfully or not, and always before
+ * the result is handed out by {@link #get()}.
+ *
+ * @param <R> elasticsearch response type
+ * @param <T> mapped result type
+ */
+abstract class MappingActionFuture<R, T> implements Future<T> {
+
+    private final ActionFuture<R> actionFuture;
+    private final Runnable completionHook;
+    private final AtomicBoolean completed = new AtomicBoolean();
+
+    MappingActionFuture(ActionFuture<R> actionFuture) {
+        this.actionFuture = actionFuture;
+        this.completionHook = null;
+    }
+
+    MappingActionFuture(ListenableActionFuture<R> actionFuture, Runnable completionHook) {
+        this.actionFuture = actionFuture;
+        this.completionHook = completionHook;
+        actionFuture.addListener(new ActionListener<R>() {
+            @Override
+            public void onResponse(R response) {
+                complete();
+            }
+
+            @Override
+            public void onFailure(Throwable e) {
+                complete();
+            }
+        });
+    }
+
+    protected abstract T map(R response);
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        return actionFuture.cancel(mayInterruptIfRunning);
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return actionFuture.isCancelled();
+    }
+
+    @Override
+    public boolean isDone() {
+        return actionFuture.isDone();
+    }
+
+    @Override
+    public T get() throws InterruptedException, ExecutionException {
+        try {
+            return mapResponse(actionFuture.get());
+        } finally {
+            completeIfDone();
+        }
+    }
+
+    @Override
+    public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+        try {
+            return mapResponse(actionFuture.get(timeout, unit));
+        } finally {
+            completeIfDone();
+        }
+    }
+
+    /**
+     * Listeners may still be running when the action future returns, run the hook here too so that callers of get
+     * observe its effects
+     */
+    private void completeIfDone() {
+        if (actionFuture.isDone()) {
+            complete();
+        }
+    }
+
+    private void complete() {
+        if (completionHook != null && completed.compareAndSet(false, true)) {
+            completionHook.run();
+        }
+    }
+
+    private T mapResponse(R response) throws ExecutionException {
+        try {
+            return map(response);
+        } catch (RuntimeException e) {
+            throw new ExecutionException(e);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.elasticsearch.core;
+
+import org.springframework.util.Assert;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of search and count results of an {@link ElasticsearchTemplate}, keyed by index and request source.
+ * Least recently used entries are evicted once the maximum number of entries is reached, entries expire after the
+ * time to live. Writes and refreshes through the template invalidate all entries of the affected index. Changes
+ * made visible by other clients or the periodic refresh of elasticsearch are only picked up once entries expire.
+ * Cached results are shared between callers and must not be modified, the template therefore caches raw hit
+ * sources and maps them to new entities on every hit.
+ *
+ */
+public class QueryResultCache {
+
+    private final long timeToLiveInMillis;
+    private final Map<Key, Entry> entries;
+    private final Map<String, Long> generations = new HashMap<String, Long>();
+    private long clears = 0;
+
+    public QueryResultCache(final int maxEntries, long timeToLiveInMillis) {
+        Assert.isTrue(maxEntries > 0, "Maximum number of entries must be greater than 0");
+        Assert.isTrue(timeToLiveInMillis > 0, "Time to live must be greater than 0");
+        this.timeToLiveInMillis = timeToLiveInMillis;
+        this.entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @param indexName
+     * @param request
+     * @return cached result, null if there is none or it has expired
+     */
+    public synchronized Object get(String indexName, String request) {
+        Key key = new Key(indexName, request);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value;
+    }
+
+    /**
+     * Current generation of the index, to be taken before the request is executed and passed to
+     * {@link #put(String, String, Object, long)}
+     *
+     * @param indexName
+     * @return
+     */
+    public synchronized long generation(String indexName) {
+        Long generation = generations.get(indexName);
+        return clears + (generation != null ? generation : 0);
+    }
+
+    /**
+     * Cache the result unless the index has been invalidated since the given generation was taken,
+     * in which case the result may already be stale
+     *
+     * @param indexName
+     * @param request
+     * @param value
+     * @param generation
+     */
+    public synchronized void put(String indexName, String request, Object value, long generation) {
+        if (generation == generation(indexName)) {
+            entries.put(new Key(indexName, request), new Entry(value, System.currentTimeMillis() + timeToLiveInMillis));
+        }
+    }
+
+    /**
+     * Remove all entries of the given index
+     *
+     * @param indexName
+     */
+    public synchronized void invalidate(String indexName) {
+        Long generation = generations.get(indexName);
+        generations.put(indexName, generation != null ? generation + 1 : 1);
+        for (Iterator<Key> iterator = entries.keySet().iterator(); iterator.hasNext(); ) {
+            if (iterator.next().indexName.equals(indexName)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        clears++;
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static class Key {
+
+        private final String indexName;
+        private final String request;
+
+        private Key(String indexName, String request) {
+            this.indexName = indexName;
+            this.request = request;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return indexName.equals(key.indexName) && request.equals(key.request);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * indexName.hashCode() + request.hashCode();
+        }
+    }
+
+    private static class Entry {
+
+        private final Object value;
+        private final long expiresAt;
+
+        private Entry(Object value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
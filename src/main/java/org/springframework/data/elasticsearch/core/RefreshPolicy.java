@@ -0,0 +1,44 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.elasticsearch.core;
+
+/**
+ * Defines when repository write operations make their changes visible to searches by refreshing the index.
+ *
+ */
+public enum RefreshPolicy {
+
+    /**
+     * Use the policy configured on the repository factory
+     */
+    DEFAULT,
+
+    /**
+     * Never refresh after a write. Changes become visible with the periodic refresh of the index or an explicit refresh.
+     */
+    NONE,
+
+    /**
+     * Refresh and wait for it after every write
+     */
+    IMMEDIATE,
+
+    /**
+     * Schedule a refresh after a write. All refresh requests for the same index arriving within the configured maximum
+     * delay are merged into a single refresh.
+     */
+    COALESCED
+}
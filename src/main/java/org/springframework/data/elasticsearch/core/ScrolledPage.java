@@ -0,0 +1,42 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.elasticsearch.core;
+
+import org.springframework.data.domain.PageImpl;
+
+import java.util.List;
+
+/**
+ * {@link org.springframework.data.domain.Page} of a scroll carrying the scroll id to continue with
+ *
+ * @param <T>
+ */
+public class ScrolledPage<T> extends PageImpl<T> {
+
+    private final String scrollId;
+
+    public ScrolledPage(List<T> content, long total, String scrollId) {
+        super(content, null, total);
+        this.scrollId = scrollId;
+    }
+
+    /**
+     * @return scroll id to be passed to the next {@link ElasticsearchOperations#scroll(String, long, Class)} call
+     */
+    public String getScrollId() {
+        return scrollId;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.elasticsearch.core;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Content of the requested page. Carries no total number of hits, only whether another page follows.
+ *
+ * @param <T>
+ */
+public class SliceList<T> extends AbstractList<T> {
+
+    private final List<T> content;
+    private final Pageable pageable;
+    private final boolean hasNext;
+
+    public SliceList(List<T> content, Pageable pageable, boolean hasNext) {
+        this.content = Collections.unmodifiableList(content);
+        this.pageable = pageable;
+        this.hasNext = hasNext;
+    }
+
+    @Override
+    public T get(int index) {
+        return content.get(index);
+    }
+
+    @Override
+    public int size() {
+        return content.size();
+    }
+
+    public boolean hasNext() {
+        return hasNext;
+    }
+
+    /**
+     * @return pageable of the next page, null if this is the last page
+     */
+    public Pageable nextPageable() {
+        if (!hasNext) {
+            return null;
+        }
+        if (pageable == null) {
+            return new PageRequest(1, content.size());
+        }
+        return new PageRequest(pageable.getPageNumber() + 1, pageable.getPageSize(), pageable.getSort());
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.elasticsearch.core.facet;
+
+import org.springframework.util.Assert;
+
+public abstract class AbstractFacetResult implements FacetResult {
+
+    private final String name;
+    private final FacetType type;
+
+    protected AbstractFacetResult(String name, FacetType type) {
+        Assert.hasText(name, "Facet name must not be empty");
+        Assert.notNull(type, "Facet type must not be null");
+        this.name = name;
+        this.type = type;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public FacetType getType() {
+        return type;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.elasticsearch.core.facet;
+
+import org.elasticsearch.search.facet.Facet;
+import org.elasticsearch.search.facet.datehistogram.DateHistogramFacet;
+import org.elasticsearch.search.facet.histogram.HistogramFacet;
+import org.elasticsearch.search.facet.range.RangeFacet;
+import org.elasticsearch.search.facet.statistical.StatisticalFacet;
+import org.elasticsearch.search.facet.terms.TermsFacet;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maps facets of a search response to {@link FacetResult}s
+ *
+ */
+public class DefaultFacetMapper {
+
+    /**
+     * @param facet
+     * @return typed result, null for facet types without a typed result
+     */
+    public static FacetResult parse(Facet facet) {
+        if (facet instanceof TermsFacet) {
+            return parseTerms((TermsFacet) facet);
+        }
+        if (facet instanceof RangeFacet) {
+            return parseRange((RangeFacet) facet);
+        }
+        if (facet instanceof StatisticalFacet) {
+            return parseStatistical((StatisticalFacet) facet);
+        }
+        if (facet instanceof HistogramFacet) {
+            return parseHistogram((HistogramFacet) facet);
+        }
+        if (facet instanceof DateHistogramFacet) {
+            return parseDateHistogram((DateHistogramFacet) facet);
+        }
+        return null;
+    }
+
+    private static FacetResult parseTerms(TermsFacet facet) {
+        List<TermsFacetResult.Term> terms = new ArrayList<TermsFacetResult.Term>();
+        for (TermsFacet.Entry entry : facet.getEntries()) {
+            terms.add(new TermsFacetResult.Term(entry.getTerm(), entry.getCount()));
+        }
+        return new TermsFacetResult(facet.getName(), terms, facet.getTotalCount(), facet.getMissingCount(), facet.getOtherCount());
+    }
+
+    private static FacetResult parseRange(RangeFacet facet) {
+        List<RangeFacetResult.Range> ranges = new ArrayList<RangeFacetResult.Range>();
+        for (RangeFacet.Entry entry : facet.getEntries()) {
+            Double from = Double.isInfinite(entry.getFrom()) ? null : entry.getFrom();
+            Double to = Double.isInfinite(entry.getTo()) ? null : entry.getTo();
+            ranges.add(new RangeFacetResult.Range(from, to, entry.getCount(), entry.getTotal(), entry.getMin(), entry.getMax(), entry.getMean()));
+        }
+        return new RangeFacetResult(facet.getName(), ranges);
+    }
+
+    private static FacetResult parseStatistical(StatisticalFacet facet) {
+        return new StatisticalFacetResult(facet.getName(), facet.getCount(), facet.getMin(), facet.getMax(), facet.getMean(),
+                facet.getTotal(), facet.getVariance(), facet.getStdDeviation());
+    }
+
+    private static FacetResult parseHistogram(HistogramFacet facet) {
+        List<HistogramFacetResult.IntervalUnit> intervalUnits = new ArrayList<HistogramFacetResult.IntervalUnit>();
+        for (HistogramFacet.Entry entry : facet.getEntries()) {
+            intervalUnits.add(new HistogramFacetResult.IntervalUnit(entry.getKey(), entry.getCount(), entry.getTotal(),
+                    entry.getMin(), entry.getMax(), entry.getMean()));
+        }
+        return new HistogramFacetResult(facet.getName(), FacetType.HISTOGRAM, intervalUnits);
+    }
+
+    private static FacetResult parseDateHistogram(DateHistogramFacet facet) {
+        List<HistogramFacetResult.IntervalUnit> intervalUnits = new ArrayList<HistogramFacetResult.IntervalUnit>();
+        for (DateHistogramFacet.Entry entry : facet.getEntries()) {
+            intervalUnits.add(new HistogramFacetResult.IntervalUnit(entry.getTime(), entry.getCount(), entry.getTotal(),
+                    entry.getMin(), entry.getMax(), entry.getMean()));
+        }
+        return new HistogramFacetResult(facet.getName(), FacetType.DATE_HISTOGRAM, intervalUnits);
+    }
+}
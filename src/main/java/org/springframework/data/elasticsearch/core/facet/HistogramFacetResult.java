@@ -0,0 +1,81 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.elasticsearch.core.facet;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Document counts per interval of a numeric or date field. For date histograms the key of an interval is its
+ * start in milliseconds since the epoch.
+ *
+ */
+public class HistogramFacetResult extends AbstractFacetResult {
+
+    private final List<IntervalUnit> intervalUnits;
+
+    public HistogramFacetResult(String name, FacetType type, List<IntervalUnit> intervalUnits) {
+        super(name, type);
+        this.intervalUnits = Collections.unmodifiableList(intervalUnits);
+    }
+
+    public List<IntervalUnit> getIntervalUnits() {
+        return intervalUnits;
+    }
+
+    public static class IntervalUnit {
+
+        private final long key;
+        private final long count;
+        private final double total;
+        private final double min;
+        private final double max;
+        private final double mean;
+
+        public IntervalUnit(long key, long count, double total, double min, double max, double mean) {
+            this.key = key;
+            this.count = count;
+            this.total = total;
+            this.min = min;
+            this.max = max;
+            this.mean = mean;
+        }
+
+        public long getKey() {
+            return key;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getTotal() {
+            return total;
+        }
+
+        public double getMin() {
+            return min;
+        }
+
+        public double getMax() {
+            return max;
+        }
+
+        public double getMean() {
+            return mean;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.elasticsearch.core.facet;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Document counts and value statistics per requested range
+ *
+ */
+public class RangeFacetResult extends AbstractFacetResult {
+
+    private final List<Range> ranges;
+
+    public RangeFacetResult(String name, List<Range> ranges) {
+        super(name, FacetType.RANGE);
+        this.ranges = Collections.unmodifiableList(ranges);
+    }
+
+    public List<Range> getRanges() {
+        return ranges;
+    }
+
+    public static class Range {
+
+        private final Double from;
+        private final Double to;
+        private final long count;
+        private final double total;
+        private final double min;
+        private final double max;
+        private final double mean;
+
+        /**
+         * @param from lower bound, null if unbounded
+         * @param to upper bound, null if unbounded
+         */
+        public Range(Double from, Double to, long count, double total, double min, double max, double mean) {
+            this.from = from;
+            this.to = to;
+            this.count = count;
+            this.total = total;
+            this.min = min;
+            this.max = max;
+            this.mean = mean;
+        }
+
+        public Double getFrom() {
+            return from;
+        }
+
+        public Double getTo() {
+            return to;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getTotal() {
+            return total;
+        }
+
+        public double getMin() {
+            return min;
+        }
+
+        public double getMax() {
+            return max;
+        }
+
+        public double getMean() {
+            return mean;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.elasticsearch.core.facet;
+
+/**
+ * Statistics computed over the values of a numeric field
+ *
+ */
+public class StatisticalFacetResult extends AbstractFacetResult {
+
+    private final long count;
+    private final double min;
+    private final double max;
+    private final double mean;
+    private final double total;
+    private final double variance;
+    private final double stdDeviation;
+
+    public StatisticalFacetResult(String name, long count, double min, double max, double mean, double total,
+                                  double variance, double stdDeviation) {
+        super(name, FacetType.STATISTICAL);
+        this.count = count;
+        this.min = min;
+        this.max = max;
+        this.mean = mean;
+        this.total = total;
+        this.variance = variance;
+        this.stdDeviation = stdDeviation;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getTotal() {
+        return total;
+    }
+
+    public double getVariance() {
+        return variance;
+    }
+
+    public double getStdDeviation() {
+        return stdDeviation;
+    }
+}
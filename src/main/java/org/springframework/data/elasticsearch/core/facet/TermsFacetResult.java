@@ -0,0 +1,83 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.elasticsearch.core.facet;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Most frequent terms of a field with their document counts
+ *
+ */
+public class TermsFacetResult extends AbstractFacetResult {
+
+    private final List<Term> terms;
+    private final long total;
+    private final long missing;
+    private final long other;
+
+    public TermsFacetResult(String name, List<Term> terms, long total, long missing, long other) {
+        super(name, FacetType.TERMS);
+        this.terms = Collections.unmodifiableList(terms);
+        this.total = total;
+        this.missing = missing;
+        this.other = other;
+    }
+
+    public List<Term> getTerms() {
+        return terms;
+    }
+
+    /**
+     * @return number of term occurrences counted
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * @return number of documents without a value for the field
+     */
+    public long getMissing() {
+        return missing;
+    }
+
+    /**
+     * @return number of term occurrences not in the returned terms
+     */
+    public long getOther() {
+        return other;
+    }
+
+    public static class Term {
+
+        private final String term;
+        private final long count;
+
+        public Term(String term, long count) {
+            this.term = term;
+            this.count = count;
+        }
+
+        public String getTerm() {
+            return term;
+        }
+
+        public long getCount() {
+            return count;
+        }
+    }
+}
@@ -15,11 +15,13 @@
  */
 package org.springframework.data.elasticsearch.core.mapping;
 
+import org.springframework.data.elasticsearch.core.RefreshPolicy;
 import org.springframework.data.mapping.PersistentEntity;
 
 public interface ElasticsearchPersistentEntity<T> extends PersistentEntity<T, ElasticsearchPersistentProperty> {
 
 	String getIndexName();
     String getIndexType();
+    RefreshPolicy getRefreshPolicy();
 
 }
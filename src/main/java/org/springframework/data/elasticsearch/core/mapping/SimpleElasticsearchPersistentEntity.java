@@ -21,6 +21,7 @@ import org.springframework.context.ApplicationContextAware;
 import org.springframework.context.expression.BeanFactoryAccessor;
 import org.springframework.context.expression.BeanFactoryResolver;
 import org.springframework.data.elasticsearch.annotations.Document;
+import org.springframework.data.elasticsearch.core.RefreshPolicy;
 import org.springframework.data.mapping.model.BasicPersistentEntity;
 import org.springframework.data.util.TypeInformation;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
@@ -41,6 +42,7 @@ public class SimpleElasticsearchPersistentEntity<T> extends BasicPersistentEntit
     private final StandardEvaluationContext context;
     private String indexName;
     private String indexType;
+    private RefreshPolicy refreshPolicy;
 
     public SimpleElasticsearchPersistentEntity(TypeInformation<T> typeInformation) {
         super(typeInformation);
@@ -52,6 +54,7 @@ public class SimpleElasticsearchPersistentEntity<T> extends BasicPersistentEntit
         Assert.hasText(document.indexName(), " Unknown indexName. Make sure the indexName is defined. e.g @Document(indexName=\"foo\")");
         this.indexName = typeInformation.getType().getAnnotation(Document.class).indexName();
         this.indexType = hasText(document.type())? document.type() : clazz.getSimpleName().toLowerCase(Locale.ENGLISH);
+        this.refreshPolicy = document.refreshPolicy();
     }
 
     @Override
@@ -70,4 +73,9 @@ public class SimpleElasticsearchPersistentEntity<T> extends BasicPersistentEntit
     public String getIndexType() {
         return indexType;
     }
+
+    @Override
+    public RefreshPolicy getRefreshPolicy() {
+        return refreshPolicy;
+    }
 }
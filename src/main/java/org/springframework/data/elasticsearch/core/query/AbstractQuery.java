@@ -15,11 +15,16 @@
  */
 package org.springframework.data.elasticsearch.core.query;
 
+import org.elasticsearch.action.search.SearchType;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.util.Assert;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * AbstractQuery
  * 
@@ -30,6 +35,8 @@ abstract class AbstractQuery  implements Query{
 
     protected Pageable pageable = DEFAULT_PAGE;
     protected Sort sort;
+    protected SearchType searchType;
+    protected List<String> fields = new ArrayList<String>();
 
     @Override
     public Sort getSort() {
@@ -49,6 +56,28 @@ abstract class AbstractQuery  implements Query{
         return (T) this.addSort(pageable.getSort());
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public final <T extends Query> T addFields(String... fields) {
+        this.fields.addAll(Arrays.asList(fields));
+        return (T) this;
+    }
+
+    @Override
+    public List<String> getFields() {
+        return fields;
+    }
+
+    @Override
+    public SearchType getSearchType() {
+        return searchType;
+    }
+
+    @Override
+    public void setSearchType(SearchType searchType) {
+        this.searchType = searchType;
+    }
+
     @SuppressWarnings("unchecked")
     public final <T extends Query> T addSort(Sort sort) {
         if (sort == null) {
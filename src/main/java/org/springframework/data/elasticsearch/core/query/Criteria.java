@@ -318,7 +318,8 @@ public class Criteria {
 	}
 
 	/**
-	 * Crates new CriteriaEntry for multiple values {@code (arg0 arg1 arg2 ...)}
+	 * Crates new CriteriaEntry for multiple values {@code (arg0 arg1 arg2 ...)}. The values are matched as terms, see
+	 * {@link #in(Iterable)}.
 	 * 
 	 * @param values
 	 * @return
@@ -333,7 +334,9 @@ public class Criteria {
 	}
 
 	/**
-	 * Crates new CriteriaEntry for multiple values {@code (arg0 arg1 arg2 ...)}
+	 * Crates new CriteriaEntry for multiple values {@code (arg0 arg1 arg2 ...)}. Unlike {@link #is(Object)} the values
+	 * are not analyzed but matched as exact terms, so on an analyzed field they have to be given as indexed tokens:
+	 * a message {@code "Foo Bar"} is matched by {@code in("foo")} but not by {@code in("Foo Bar")}.
 	 * 
 	 * @param values the collection containing the values to match against
 	 * @return
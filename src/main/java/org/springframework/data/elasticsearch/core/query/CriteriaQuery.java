@@ -22,6 +22,7 @@ import org.springframework.util.Assert;
 public class CriteriaQuery extends AbstractQuery implements Query {
 
     private Criteria criteria;
+    private Criteria filterCriteria;
     private CriteriaQuery() {
     }
 
@@ -50,6 +51,10 @@ public class CriteriaQuery extends AbstractQuery implements Query {
             destination.addCriteria(source.getCriteria());
         }
 
+        if (source.getFilterCriteria() != null) {
+            destination.addFilterCriteria(source.getFilterCriteria());
+        }
+
         if (source.getSort() != null) {
             destination.addSort(source.getSort());
         }
@@ -72,4 +77,26 @@ public class CriteriaQuery extends AbstractQuery implements Query {
         return this.criteria;
     }
 
+    /**
+     * Add criteria which only restrict the result set without contributing to the score. They are executed as
+     * cached filters and match the same documents as the criteria would as query.
+     *
+     * @param criteria
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public final <T extends CriteriaQuery> T addFilterCriteria(Criteria criteria) {
+        Assert.notNull(criteria, "Cannot add null criteria.");
+        if (this.filterCriteria == null) {
+            this.filterCriteria = criteria;
+        } else {
+            this.filterCriteria.and(criteria);
+        }
+        return (T) this;
+    }
+
+    public Criteria getFilterCriteria() {
+        return this.filterCriteria;
+    }
+
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.elasticsearch.core.query;
+
+import org.codehaus.jackson.map.ObjectMapper;
+import org.elasticsearch.common.Base64;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Sort values of the last hit of a window, the value of the unique tiebreaker field being the last one.
+ * The next window starts right after this position. Can be passed around as an opaque cursor string.
+ *
+ */
+public class Keyset {
+
+    private static final ObjectMapper CURSOR_MAPPER = new ObjectMapper();
+
+    private final List<Object> values;
+
+    public Keyset(Object... values) {
+        this(Arrays.asList(values));
+    }
+
+    public Keyset(List<?> values) {
+        Assert.notEmpty(values, "Keyset values must not be empty");
+        this.values = Collections.unmodifiableList(new ArrayList<Object>(values));
+    }
+
+    public List<Object> getValues() {
+        return values;
+    }
+
+    /**
+     * @return url safe cursor string, to be turned back into a keyset by {@link #fromCursor(String)}
+     */
+    public String toCursor() {
+        try {
+            return Base64.encodeBytes(CURSOR_MAPPER.writeValueAsBytes(values), Base64.URL_SAFE);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Keyset values " + values + " can not be written as cursor", e);
+        }
+    }
+
+    public static Keyset fromCursor(String cursor) {
+        Assert.hasText(cursor, "Cursor must not be empty");
+        try {
+            return new Keyset(CURSOR_MAPPER.readValue(Base64.decode(cursor, Base64.URL_SAFE), List.class));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid cursor [" + cursor + "]", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Keyset" + values;
+    }
+}
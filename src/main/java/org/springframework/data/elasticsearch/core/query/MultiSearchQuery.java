@@ -0,0 +1,74 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.elasticsearch.core.query;
+
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Collects independent {@link SearchQuery}, {@link CriteriaQuery} and {@link StringQuery} instances, each with
+ * its own target class, to be executed in a single multi search round trip.
+ *
+ */
+public class MultiSearchQuery {
+
+    private final List<Entry> entries = new ArrayList<Entry>();
+
+    public MultiSearchQuery add(SearchQuery query, Class<?> clazz) {
+        return addEntry(query, clazz);
+    }
+
+    public MultiSearchQuery add(CriteriaQuery query, Class<?> clazz) {
+        return addEntry(query, clazz);
+    }
+
+    public MultiSearchQuery add(StringQuery query, Class<?> clazz) {
+        return addEntry(query, clazz);
+    }
+
+    public List<Entry> getEntries() {
+        return Collections.unmodifiableList(entries);
+    }
+
+    private MultiSearchQuery addEntry(Query query, Class<?> clazz) {
+        Assert.notNull(query, "Query must not be null");
+        Assert.notNull(clazz, "Class must not be null");
+        entries.add(new Entry(query, clazz));
+        return this;
+    }
+
+    public static class Entry {
+
+        private final Query query;
+        private final Class<?> clazz;
+
+        private Entry(Query query, Class<?> clazz) {
+            this.query = query;
+            this.clazz = clazz;
+        }
+
+        public Query getQuery() {
+            return query;
+        }
+
+        public Class<?> getClazz() {
+            return clazz;
+        }
+    }
+}
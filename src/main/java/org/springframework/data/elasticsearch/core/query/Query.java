@@ -1,9 +1,12 @@
 package org.springframework.data.elasticsearch.core.query;
 
 
+import org.elasticsearch.action.search.SearchType;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
+import java.util.List;
+
 public interface Query {
 
     int DEFAULT_PAGE_SIZE = 10;
@@ -48,4 +51,30 @@ public interface Query {
      */
     Sort getSort();
 
+    /**
+     * Restrict the returned source to the given fields. Results are mapped from the partial source, all other
+     * properties stay unset.
+     *
+     * @param fields
+     * @return
+     */
+    <T extends Query> T addFields(String... fields);
+
+    /**
+     * @return empty if the whole source is requested
+     */
+    List<String> getFields();
+
+    /**
+     * Override the search type configured on the template for this query
+     *
+     * @param searchType
+     */
+    void setSearchType(SearchType searchType);
+
+    /**
+     * @return null if not set
+     */
+    SearchType getSearchType();
+
 }
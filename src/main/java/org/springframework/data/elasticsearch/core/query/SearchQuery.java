@@ -3,11 +3,16 @@ package org.springframework.data.elasticsearch.core.query;
 
 import org.elasticsearch.index.query.FilterBuilder;
 import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.search.facet.AbstractFacetBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
 
 public class SearchQuery extends AbstractQuery{
 
     private QueryBuilder elasticsearchQuery;
     private FilterBuilder elasticsearchFilter;
+    private List<AbstractFacetBuilder> facets = new ArrayList<AbstractFacetBuilder>();
 
     public QueryBuilder getElasticsearchQuery() {
         return elasticsearchQuery;
@@ -25,4 +30,17 @@ public class SearchQuery extends AbstractQuery{
         this.elasticsearchFilter = elasticsearchFilter;
     }
 
+    /**
+     * Add a facet (e.g. {@link org.elasticsearch.search.facet.FacetBuilders#termsFacet(String)}) computed over the hits of the query
+     *
+     * @param facet
+     */
+    public void addFacet(AbstractFacetBuilder facet) {
+        this.facets.add(facet);
+    }
+
+    public List<AbstractFacetBuilder> getFacets() {
+        return facets;
+    }
+
 }
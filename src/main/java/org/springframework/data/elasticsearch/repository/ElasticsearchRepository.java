@@ -18,6 +18,7 @@ package org.springframework.data.elasticsearch.repository;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.KeysetPage;
 import org.springframework.data.elasticsearch.core.query.SearchQuery;
 import org.springframework.data.repository.NoRepositoryBean;
 
@@ -38,4 +39,35 @@ public interface ElasticsearchRepository<T, ID extends Serializable> extends Ela
     Page<T> search(QueryBuilder elasticsearchQuery, Pageable pageable);
 
     Page<T> search(SearchQuery searchQuery);
+
+    /**
+     * Window of entities following the cursor, sorted by the sort of the pageable and the document uid.
+     * Cost does not grow with the depth of the window like from/size paging does.
+     *
+     * @param cursor {@link KeysetPage#getNextCursor()} of the previous window, null for the first window
+     * @param pageable page size and sort, the page number is ignored
+     * @return
+     */
+    KeysetPage<T> findAllAfter(String cursor, Pageable pageable);
+
+    /**
+     * Window of entities matching the query following the cursor, sorted by the sort of the query and the document uid
+     *
+     * @param searchQuery
+     * @param cursor {@link KeysetPage#getNextCursor()} of the previous window, null for the first window
+     * @return
+     */
+    KeysetPage<T> search(SearchQuery searchQuery, String cursor);
+
+    /**
+     * Delete the entities with the given ids in a single bulk request
+     *
+     * @param ids
+     */
+    void deleteAll(Iterable<ID> ids);
+
+    /**
+     * Refresh the index of the entity and wait for it, making all previous writes visible to searches
+     */
+    void refresh();
 }
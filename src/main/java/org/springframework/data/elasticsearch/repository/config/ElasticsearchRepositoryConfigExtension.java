@@ -21,6 +21,7 @@ import org.springframework.data.elasticsearch.repository.support.ElasticsearchRe
 import org.springframework.data.repository.config.AnnotationRepositoryConfigurationSource;
 import org.springframework.data.repository.config.RepositoryConfigurationExtensionSupport;
 import org.springframework.data.repository.config.XmlRepositoryConfigurationSource;
+import org.springframework.util.StringUtils;
 import org.w3c.dom.Element;
 
 
@@ -59,6 +60,10 @@ public class ElasticsearchRepositoryConfigExtension extends RepositoryConfigurat
 
 		AnnotationAttributes attributes = config.getAttributes();
 		builder.addPropertyReference("elasticsearchOperations", attributes.getString("elasticsearchTemplateRef"));
+		builder.addPropertyValue("refreshPolicy", attributes.getEnum("refreshPolicy"));
+		builder.addPropertyValue("refreshMaxDelayInMillis", attributes.get("refreshMaxDelayInMillis"));
+		builder.addPropertyValue("findOneBatchWindowInMillis", attributes.get("findOneBatchWindowInMillis"));
+		builder.addPropertyValue("findOneMaxBatchSize", attributes.get("findOneMaxBatchSize"));
 	}
 
 	/* 
@@ -70,5 +75,17 @@ public class ElasticsearchRepositoryConfigExtension extends RepositoryConfigurat
 
 		Element element = config.getElement();
 		builder.addPropertyReference("elasticsearchOperations", element.getAttribute("elasticsearch-template-ref"));
+		if (StringUtils.hasText(element.getAttribute("refresh-policy"))) {
+			builder.addPropertyValue("refreshPolicy", element.getAttribute("refresh-policy"));
+		}
+		if (StringUtils.hasText(element.getAttribute("refresh-max-delay"))) {
+			builder.addPropertyValue("refreshMaxDelayInMillis", element.getAttribute("refresh-max-delay"));
+		}
+		if (StringUtils.hasText(element.getAttribute("find-one-batch-window"))) {
+			builder.addPropertyValue("findOneBatchWindowInMillis", element.getAttribute("find-one-batch-window"));
+		}
+		if (StringUtils.hasText(element.getAttribute("find-one-max-batch-size"))) {
+			builder.addPropertyValue("findOneMaxBatchSize", element.getAttribute("find-one-max-batch-size"));
+		}
 	}
 }
@@ -18,6 +18,7 @@ package org.springframework.data.elasticsearch.repository.config;
 import org.springframework.context.annotation.ComponentScan.Filter;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.elasticsearch.core.ElasticsearchTemplate;
+import org.springframework.data.elasticsearch.core.RefreshPolicy;
 import org.springframework.data.elasticsearch.repository.support.ElasticsearchRepositoryFactoryBean;
 import org.springframework.data.repository.query.QueryLookupStrategy.Key;
 
@@ -107,4 +108,36 @@ public @interface EnableElasticsearchRepositories {
 	 * @return
 	 */
 	String elasticsearchTemplateRef() default "elasticsearchTemplate";
+
+	/**
+	 * Configures when the repositories refresh the index after write operations. Entities can override it with
+	 * {@link org.springframework.data.elasticsearch.annotations.Document#refreshPolicy()}. Defaults to
+	 * {@link RefreshPolicy#IMMEDIATE}.
+	 *
+	 * @return
+	 */
+	RefreshPolicy refreshPolicy() default RefreshPolicy.IMMEDIATE;
+
+	/**
+	 * Configures the maximum delay of a refresh with {@link RefreshPolicy#COALESCED}. Defaults to one second.
+	 *
+	 * @return
+	 */
+	long refreshMaxDelayInMillis() default 1000;
+
+	/**
+	 * Configures the time window in which concurrent findOne calls are merged into a single multi get. Defaults to 0,
+	 * which gets every entity on its own. Batched findOne calls bypass the near cache and the read coalescing of the
+	 * template.
+	 *
+	 * @return
+	 */
+	long findOneBatchWindowInMillis() default 0;
+
+	/**
+	 * Configures the maximum number of ids merged into a single multi get by findOne batching. Defaults to 100.
+	 *
+	 * @return
+	 */
+	int findOneMaxBatchSize() default 100;
 }
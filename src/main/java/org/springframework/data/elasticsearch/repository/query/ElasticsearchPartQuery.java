@@ -1,37 +1,88 @@
 package org.springframework.data.elasticsearch.repository.query;
 
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.core.CloseableIterator;
 import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
-import org.springframework.data.elasticsearch.core.mapping.ElasticsearchPersistentProperty;
-import org.springframework.data.elasticsearch.core.query.CriteriaQuery;
-import org.springframework.data.elasticsearch.repository.query.parser.ElasticsearchQueryCreator;
-import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.elasticsearch.core.query.SearchQuery;
+import org.springframework.data.elasticsearch.repository.query.parser.PartTreeQueryTemplate;
 import org.springframework.data.repository.query.ParametersParameterAccessor;
 import org.springframework.data.repository.query.parser.PartTree;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class ElasticsearchPartQuery extends AbstractElasticsearchRepositoryQuery{
 
-    private final PartTree tree;
-    private final MappingContext<?, ElasticsearchPersistentProperty> mappingContext;
+    private final PartTreeQueryTemplate queryTemplate;
 
 
     public ElasticsearchPartQuery(ElasticsearchQueryMethod method, ElasticsearchOperations elasticsearchOperations) {
         super(method, elasticsearchOperations);
-        this.tree = new PartTree(method.getName(), method.getEntityInformation().getJavaType());
-        this.mappingContext = elasticsearchOperations.getElasticsearchConverter().getMappingContext();
+        this.queryTemplate = new PartTreeQueryTemplate(new PartTree(partTreeSource(method), method.getEntityInformation().getJavaType()),
+                elasticsearchOperations.getElasticsearchConverter().getMappingContext());
     }
 
     @Override
     public Object execute(Object[] parameters) {
         ParametersParameterAccessor accessor = new ParametersParameterAccessor(queryMethod.getParameters(), parameters);
-        CriteriaQuery query = createQuery(accessor);
+        SearchQuery query = queryTemplate.bind(accessor);
+        query.setSearchType(queryMethod.getSearchType());
+        if(queryMethod.isCountQuery()){
+            return elasticsearchOperations.count(query, queryMethod.getEntityInformation().getJavaType());
+        }
+        if(queryMethod.isExistsQuery()){
+            return elasticsearchOperations.count(query, queryMethod.getEntityInformation().getJavaType()) > 0;
+        }
+        if(queryMethod.isIdsQuery()){
+            return executeIdsQuery(query, accessor);
+        }
         if(queryMethod.isPageQuery()){
             return  elasticsearchOperations.queryForPage(query, queryMethod.getEntityInformation().getJavaType());
         }
+        if(queryMethod.isSliceQuery()){
+            if(accessor.getPageable() != null){
+                query.setPageable(accessor.getPageable());
+            }
+            return elasticsearchOperations.queryForList(query, queryMethod.getEntityInformation().getJavaType());
+        }
+        if(queryMethod.isCollectionQuery()){
+            long count = elasticsearchOperations.count(query, queryMethod.getEntityInformation().getJavaType());
+            query.setPageable(new PageRequest(0, (int) Math.max(count, 1)));
+            return elasticsearchOperations.queryForPage(query, queryMethod.getEntityInformation().getJavaType()).getContent();
+        }
         return elasticsearchOperations.queryForObject(query, queryMethod.getEntityInformation().getJavaType());
     }
 
-    public CriteriaQuery createQuery(ParametersParameterAccessor accessor) {
-        return new ElasticsearchQueryCreator(tree, accessor, mappingContext).createQuery();
+    /**
+     * Returns the ids of the requested page, or of all matching documents streamed through scan and scroll
+     * if the method takes no {@link org.springframework.data.domain.Pageable}
+     */
+    private List<String> executeIdsQuery(SearchQuery query, ParametersParameterAccessor accessor) {
+        Class<?> clazz = queryMethod.getEntityInformation().getJavaType();
+        if (accessor.getPageable() != null) {
+            query.setPageable(accessor.getPageable());
+            return elasticsearchOperations.queryForIds(query, clazz);
+        }
+        List<String> ids = new ArrayList<String>();
+        CloseableIterator<String> iterator = elasticsearchOperations.streamIds(query, clazz);
+        try {
+            while (iterator.hasNext()) {
+                ids.add(iterator.next());
+            }
+        } finally {
+            iterator.close();
+        }
+        return ids;
+    }
+
+    /**
+     * {@link PartTree} only understands find, read and get prefixes, so count and exists methods are parsed as finder
+     */
+    private static String partTreeSource(ElasticsearchQueryMethod method) {
+        if (method.isCountQuery() || method.isExistsQuery()) {
+            return method.getName().replaceFirst("^(count|exists)By", "findBy");
+        }
+        return method.getName();
     }
 }
@@ -1,29 +1,70 @@
 package org.springframework.data.elasticsearch.repository.query;
 
+import org.elasticsearch.ElasticSearchIllegalArgumentException;
+import org.elasticsearch.action.search.SearchType;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.data.elasticsearch.annotations.Query;
+import org.springframework.data.elasticsearch.core.SliceList;
 import org.springframework.data.elasticsearch.repository.support.ElasticsearchEntityInformation;
 import org.springframework.data.elasticsearch.repository.support.ElasticsearchEntityInformationCreator;
 import org.springframework.data.repository.core.RepositoryMetadata;
 import org.springframework.data.repository.query.QueryMethod;
+import org.springframework.data.util.ClassTypeInformation;
 import org.springframework.util.StringUtils;
 
 import java.lang.reflect.Method;
+import java.util.regex.Pattern;
 
 
 public class ElasticsearchQueryMethod extends QueryMethod {
 
+    private static final Pattern IDS_QUERY_PREFIX = Pattern.compile("^(find|read|get)IdsBy");
+    private static final Pattern COUNT_QUERY_PREFIX = Pattern.compile("^countBy");
+    private static final Pattern EXISTS_QUERY_PREFIX = Pattern.compile("^existsBy");
+
     private final ElasticsearchEntityInformation<?, ?> entityInformation;
     private Method method;
+    private final SearchType searchType;
 
     public ElasticsearchQueryMethod(Method method, RepositoryMetadata metadata, ElasticsearchEntityInformationCreator elasticsearchEntityInformationCreator) {
         super(method, metadata);
-        this.entityInformation = elasticsearchEntityInformationCreator.getEntityInformation(metadata.getReturnedDomainClass(method));
+        this.entityInformation = elasticsearchEntityInformationCreator.getEntityInformation(metadata.getDomainType());
         this.method = method;
+        this.searchType = resolveSearchType();
+    }
+
+    /**
+     * @return true for methods named {@code findIdsBy...} returning a collection of ids
+     */
+    public boolean isIdsQuery() {
+        return isCollectionQuery() && IDS_QUERY_PREFIX.matcher(method.getName()).find()
+                && String.class.equals(ClassTypeInformation.fromReturnTypeOf(method).getComponentType().getType());
+    }
+
+    /**
+     * @return true for collection methods taking a {@link org.springframework.data.domain.Pageable} or returning a
+     * {@link SliceList}, executed for the requested slice only. Other collection methods return all matching documents.
+     */
+    public boolean isSliceQuery() {
+        return isCollectionQuery() && (getParameters().hasPageableParameter() || SliceList.class.isAssignableFrom(method.getReturnType()));
+    }
+
+    /**
+     * @return true for methods named {@code countBy...}, executed as count request
+     */
+    public boolean isCountQuery() {
+        return COUNT_QUERY_PREFIX.matcher(method.getName()).find();
+    }
+
+    /**
+     * @return true for methods named {@code existsBy...}, executed as count request
+     */
+    public boolean isExistsQuery() {
+        return EXISTS_QUERY_PREFIX.matcher(method.getName()).find();
     }
 
     public boolean hasAnnotatedQuery() {
-        return getQueryAnnotation() != null;
+        return getAnnotatedQuery() != null;
     }
 
     public String getAnnotatedQuery() {
@@ -31,6 +72,25 @@ public class ElasticsearchQueryMethod extends QueryMethod {
         return StringUtils.hasText(query) ? query : null;
     }
 
+    /**
+     * @return search type defined by {@link Query#searchType()}, null if not set
+     */
+    public SearchType getSearchType() {
+        return searchType;
+    }
+
+    private SearchType resolveSearchType() {
+        Query queryAnnotation = getQueryAnnotation();
+        if (queryAnnotation == null || !StringUtils.hasText(queryAnnotation.searchType())) {
+            return null;
+        }
+        try {
+            return SearchType.fromString(queryAnnotation.searchType());
+        } catch (ElasticSearchIllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid search type '" + queryAnnotation.searchType() + "' on method " + method, e);
+        }
+    }
+
     private Query getQueryAnnotation() {
         return this.method.getAnnotation(Query.class);
     }
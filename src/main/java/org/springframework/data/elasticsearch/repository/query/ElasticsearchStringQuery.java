@@ -2,19 +2,16 @@ package org.springframework.data.elasticsearch.repository.query;
 
 
 import org.springframework.core.convert.support.GenericConversionService;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
 import org.springframework.data.elasticsearch.core.convert.DateTimeConverters;
 import org.springframework.data.elasticsearch.core.query.StringQuery;
 import org.springframework.data.repository.query.ParametersParameterAccessor;
 import org.springframework.util.Assert;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 public class ElasticsearchStringQuery extends AbstractElasticsearchRepositoryQuery{
 
-    private static final Pattern PARAMETER_PLACEHOLDER = Pattern.compile("\\?(\\d+)");
-    private String query;
+    private final StringQueryTemplate queryTemplate;
 
     private final GenericConversionService conversionService = new GenericConversionService();
 
@@ -34,44 +31,39 @@ public class ElasticsearchStringQuery extends AbstractElasticsearchRepositoryQue
     public ElasticsearchStringQuery(ElasticsearchQueryMethod queryMethod, ElasticsearchOperations elasticsearchOperations, String query) {
         super(queryMethod, elasticsearchOperations);
         Assert.notNull(query, "Query cannot be empty");
-        this.query = query;
+        this.queryTemplate = new StringQueryTemplate(query, queryMethod.getParameters().getBindableParameters().getNumberOfParameters());
     }
 
     @Override
     public Object execute(Object[] parameters) {
         ParametersParameterAccessor accessor = new ParametersParameterAccessor(queryMethod.getParameters(), parameters);
         StringQuery stringQuery = createQuery(accessor);
+        stringQuery.setSearchType(queryMethod.getSearchType());
+        if(queryMethod.isCountQuery()){
+            return elasticsearchOperations.count(stringQuery, queryMethod.getEntityInformation().getJavaType());
+        }
+        if(queryMethod.isExistsQuery()){
+            return elasticsearchOperations.count(stringQuery, queryMethod.getEntityInformation().getJavaType()) > 0;
+        }
         if(queryMethod.isPageQuery()){
             return  elasticsearchOperations.queryForPage(stringQuery, queryMethod.getEntityInformation().getJavaType());
         }
+        if(queryMethod.isSliceQuery()){
+            if(accessor.getPageable() != null){
+                stringQuery.setPageable(accessor.getPageable());
+            }
+            return elasticsearchOperations.queryForList(stringQuery, queryMethod.getEntityInformation().getJavaType());
+        }
+        if(queryMethod.isCollectionQuery()){
+            long count = elasticsearchOperations.count(stringQuery, queryMethod.getEntityInformation().getJavaType());
+            stringQuery.setPageable(new PageRequest(0, (int) Math.max(count, 1)));
+            return elasticsearchOperations.queryForPage(stringQuery, queryMethod.getEntityInformation().getJavaType()).getContent();
+        }
         return elasticsearchOperations.queryForObject(stringQuery, queryMethod.getEntityInformation().getJavaType());
     }
 
 
     protected StringQuery createQuery(ParametersParameterAccessor parameterAccessor) {
-        String queryString = replacePlaceholders(this.query, parameterAccessor);
-        return new StringQuery(queryString);
-    }
-
-    private String replacePlaceholders(String input, ParametersParameterAccessor accessor) {
-        Matcher matcher = PARAMETER_PLACEHOLDER.matcher(input);
-        String result = input;
-        while (matcher.find()) {
-            String group = matcher.group();
-            int index = Integer.parseInt(matcher.group(1));
-            result = result.replace(group, getParameterWithIndex(accessor, index));
-        }
-        return result;
-    }
-
-    private String getParameterWithIndex(ParametersParameterAccessor accessor, int index) {
-        Object parameter = accessor.getBindableValue(index);
-        if (parameter == null) {
-            return "null";
-        }
-        if (conversionService.canConvert(parameter.getClass(), String.class)) {
-            return conversionService.convert(parameter, String.class);
-        }
-        return parameter.toString();
+        return new StringQuery(queryTemplate.bind(parameterAccessor, conversionService));
     }
 }
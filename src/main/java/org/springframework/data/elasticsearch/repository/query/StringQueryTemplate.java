@@ -0,0 +1,198 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.elasticsearch.repository.query;
+
+import org.codehaus.jackson.map.ObjectMapper;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.data.repository.query.ParameterAccessor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Query string split once into literal and parameter segments. Placeholders ({@code ?0}, {@code ?1}, ...) inside a
+ * JSON string are replaced by the escaped value, placeholders outside of strings by a JSON number, boolean,
+ * {@literal null} or quoted string. A {@literal null} value is rejected inside a JSON string.
+ *
+ */
+class StringQueryTemplate {
+
+    private final List<Segment> segments = new ArrayList<Segment>();
+    private final int estimatedLength;
+
+    /**
+     * @param query
+     * @param parameterCount number of bindable parameters of the query method
+     */
+    StringQueryTemplate(String query, int parameterCount) {
+        parse(query);
+        this.estimatedLength = query.length() + 16 * segments.size();
+        validate(query, parameterCount);
+    }
+
+    String bind(ParameterAccessor accessor, ConversionService conversionService) {
+        StringBuilder builder = new StringBuilder(estimatedLength);
+        for (Segment segment : segments) {
+            segment.appendTo(builder, accessor, conversionService);
+        }
+        return builder.toString();
+    }
+
+    private void parse(String query) {
+        StringBuilder literal = new StringBuilder();
+        boolean insideString = false;
+        int i = 0;
+        while (i < query.length()) {
+            char c = query.charAt(i);
+            if (c == '\\' && insideString && i + 1 < query.length()) {
+                literal.append(c).append(query.charAt(i + 1));
+                i += 2;
+                continue;
+            }
+            if (c == '"') {
+                insideString = !insideString;
+            }
+            if (c == '?' && i + 1 < query.length() && Character.isDigit(query.charAt(i + 1))) {
+                int end = i + 1;
+                while (end < query.length() && Character.isDigit(query.charAt(end))) {
+                    end++;
+                }
+                if (literal.length() > 0) {
+                    segments.add(new LiteralSegment(literal.toString()));
+                    literal.setLength(0);
+                }
+                segments.add(new ParameterSegment(Integer.parseInt(query.substring(i + 1, end)), insideString));
+                i = end;
+                continue;
+            }
+            literal.append(c);
+            i++;
+        }
+        if (literal.length() > 0) {
+            segments.add(new LiteralSegment(literal.toString()));
+        }
+    }
+
+    /**
+     * Checks the placeholders against the method parameters and parses the query with neutral values bound to the
+     * placeholders to reject malformed JSON at startup
+     */
+    private void validate(String query, int parameterCount) {
+        StringBuilder sample = new StringBuilder(estimatedLength);
+        for (Segment segment : segments) {
+            if (segment instanceof LiteralSegment) {
+                sample.append(((LiteralSegment) segment).text);
+                continue;
+            }
+            ParameterSegment parameterSegment = (ParameterSegment) segment;
+            if (parameterSegment.index >= parameterCount) {
+                throw new IllegalArgumentException("Placeholder ?" + parameterSegment.index + " in query '" + query
+                        + "' has no matching parameter, the method has " + parameterCount + " bindable parameters");
+            }
+            if (!parameterSegment.insideString) {
+                sample.append('0');
+            }
+        }
+        try {
+            new ObjectMapper().readTree(sample.toString());
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid JSON in query '" + query + "'", e);
+        }
+    }
+
+    static void appendEscaped(StringBuilder builder, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    builder.append("\\\""); break;
+                case '\\':
+                    builder.append("\\\\"); break;
+                case '\n':
+                    builder.append("\\n"); break;
+                case '\r':
+                    builder.append("\\r"); break;
+                case '\t':
+                    builder.append("\\t"); break;
+                case '\b':
+                    builder.append("\\b"); break;
+                case '\f':
+                    builder.append("\\f"); break;
+                default:
+                    if (c < 0x20) {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+            }
+        }
+    }
+
+    private interface Segment {
+        void appendTo(StringBuilder builder, ParameterAccessor accessor, ConversionService conversionService);
+    }
+
+    private static class LiteralSegment implements Segment {
+
+        private final String text;
+
+        LiteralSegment(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public void appendTo(StringBuilder builder, ParameterAccessor accessor, ConversionService conversionService) {
+            builder.append(text);
+        }
+    }
+
+    private static class ParameterSegment implements Segment {
+
+        private final int index;
+        private final boolean insideString;
+
+        ParameterSegment(int index, boolean insideString) {
+            this.index = index;
+            this.insideString = insideString;
+        }
+
+        @Override
+        public void appendTo(StringBuilder builder, ParameterAccessor accessor, ConversionService conversionService) {
+            Object parameter = accessor.getBindableValue(index);
+            if (parameter == null) {
+                if (insideString) {
+                    throw new IllegalArgumentException("Parameter ?" + index + " is bound inside a JSON string and must not be null");
+                }
+                builder.append("null");
+                return;
+            }
+            if (!insideString && (parameter instanceof Number || parameter instanceof Boolean)) {
+                builder.append(parameter);
+                return;
+            }
+            String value = conversionService.canConvert(parameter.getClass(), String.class) ?
+                    conversionService.convert(parameter, String.class) : parameter.toString();
+            if (insideString) {
+                appendEscaped(builder, value);
+            } else {
+                builder.append('"');
+                appendEscaped(builder, value);
+                builder.append('"');
+            }
+        }
+    }
+}
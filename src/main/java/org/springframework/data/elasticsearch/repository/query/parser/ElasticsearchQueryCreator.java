@@ -61,7 +61,7 @@ public class ElasticsearchQueryCreator extends AbstractQueryCreator<CriteriaQuer
     }
 
 
-    private Criteria from(Part.Type type, Criteria instance, Iterator<?> parameters) {
+    static Criteria from(Part.Type type, Criteria instance, Iterator<?> parameters) {
         Criteria criteria = instance;
         if (criteria == null) {
             criteria = new Criteria();
@@ -103,7 +103,7 @@ public class ElasticsearchQueryCreator extends AbstractQueryCreator<CriteriaQuer
         }
     }
 
-    private Object[] asArray(Object o) {
+    static Object[] asArray(Object o) {
         if (o instanceof Collection) {
             return ((Collection<?>) o).toArray();
         } else if (o.getClass().isArray()) {
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.elasticsearch.repository.query.parser;
+
+import org.elasticsearch.index.query.QueryBuilder;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.elasticsearch.core.CriteriaQueryTemplate;
+import org.springframework.data.elasticsearch.core.mapping.ElasticsearchPersistentProperty;
+import org.springframework.data.elasticsearch.core.query.Criteria;
+import org.springframework.data.elasticsearch.core.query.CriteriaQuery;
+import org.springframework.data.elasticsearch.core.query.SearchQuery;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.repository.query.ParameterAccessor;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * {@link PartTree} compiled once per query method. Property paths are resolved to field names and the criteria chain
+ * is built and optimized with placeholders for the method parameters up front, binding only fills in the values of
+ * a single invocation. Invocations with values the prepared query cannot take, e.g. {@literal null}, are compiled on
+ * their own. Produces the same queries as {@link ElasticsearchQueryCreator}.
+ *
+ */
+public class PartTreeQueryTemplate {
+
+    private final List<List<CompiledPart>> orParts = new ArrayList<List<CompiledPart>>();
+    private final List<Part.Type> parameterTypes = new ArrayList<Part.Type>();
+    private final CriteriaQueryTemplate queryTemplate;
+    private final Sort staticSort;
+
+    public PartTreeQueryTemplate(PartTree tree, MappingContext<?, ElasticsearchPersistentProperty> context) {
+        for (PartTree.OrPart orPart : tree) {
+            List<CompiledPart> andParts = new ArrayList<CompiledPart>();
+            for (Part part : orPart) {
+                String fieldName = context.getPersistentPropertyPath(part.getProperty())
+                        .toDotPath(ElasticsearchPersistentProperty.PropertyToFieldNameConverter.INSTANCE);
+                andParts.add(new CompiledPart(fieldName, part.getType()));
+                for (int i = 0; i < part.getNumberOfArguments(); i++) {
+                    parameterTypes.add(part.getType());
+                }
+            }
+            orParts.add(andParts);
+        }
+        this.staticSort = tree.getSort();
+        final List<Object> placeholders = new ArrayList<Object>();
+        CriteriaQuery query = createQuery(new Iterator<Object>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Object next() {
+                // a new instance per parameter, placeholders are told apart by identity
+                String placeholder = new String("?" + placeholders.size());
+                placeholders.add(placeholder);
+                return placeholder;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        });
+        this.queryTemplate = query != null ? new CriteriaQueryTemplate(query.getCriteria(), placeholders) : null;
+    }
+
+    public SearchQuery bind(ParameterAccessor accessor) {
+        if (queryTemplate == null) {
+            return null;
+        }
+        SearchQuery query = new SearchQuery();
+        query.setElasticsearchQuery(bindValues(accessor));
+        Sort dynamicSort = accessor.getSort();
+        return query.addSort(staticSort != null ? staticSort.and(dynamicSort) : dynamicSort);
+    }
+
+    private QueryBuilder bindValues(ParameterAccessor accessor) {
+        Object[] values = new Object[parameterTypes.size()];
+        Iterator<Object> parameters = accessor.iterator();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = bindableValue(parameterTypes.get(i), parameters.next());
+            if (values[i] == null) {
+                CriteriaQuery query = createQuery(accessor.iterator());
+                return new CriteriaQueryTemplate(query.getCriteria(), Collections.emptyList()).bind();
+            }
+        }
+        return queryTemplate.bind(values);
+    }
+
+    /**
+     * @return the value as the criteria created by {@link ElasticsearchQueryCreator} would hold it, null if the
+     * prepared query cannot take it and the invocation has to be compiled on its own
+     */
+    private static Object bindableValue(Part.Type type, Object value) {
+        if (value == null) {
+            return null;
+        }
+        switch (type) {
+            case LIKE:
+            case STARTING_WITH:
+            case ENDING_WITH:
+            case CONTAINING:
+                String wildcardValue = value.toString();
+                return wildcardValue.contains(Criteria.CRITERIA_VALUE_SEPERATOR) ? null : wildcardValue;
+            case REGEX:
+                return value.toString();
+            case IN:
+            case NOT_IN:
+                Object[] values = ElasticsearchQueryCreator.asArray(value);
+                return values.length == 0 || (values.length > 1 && values[1] instanceof Collection) ? null : Arrays.asList(values);
+            default:
+                return value;
+        }
+    }
+
+    private CriteriaQuery createQuery(Iterator<Object> parameters) {
+        CriteriaQuery base = null;
+        for (List<CompiledPart> andParts : orParts) {
+            CriteriaQuery query = null;
+            for (CompiledPart part : andParts) {
+                Criteria criteria = ElasticsearchQueryCreator.from(part.type, new Criteria(part.fieldName), parameters);
+                query = query == null ? new CriteriaQuery(criteria) : query.addCriteria(criteria);
+            }
+            base = base == null ? query : new CriteriaQuery(base.getCriteria().or(query.getCriteria()));
+        }
+        return base;
+    }
+
+    private static class CompiledPart {
+
+        private final String fieldName;
+        private final Part.Type type;
+
+        private CompiledPart(String fieldName, Part.Type type) {
+            this.fieldName = fieldName;
+            this.type = type;
+        }
+    }
+}
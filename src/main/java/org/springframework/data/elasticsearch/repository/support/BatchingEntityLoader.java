@@ -0,0 +1,132 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.elasticsearch.repository.support;
+
+import org.springframework.data.elasticsearch.ElasticsearchException;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Merges concurrent loads by id into multi get requests. The first caller of a batch waits for the batch window,
+ * or until the batch is filled up to the maximum batch size, then resolves all collected ids with a single multi get.
+ * Callers asking for the same id within a batch receive the same entity instance. Batched loads go straight to
+ * {@link ElasticsearchOperations#multiGetById(java.util.Collection, Class)}, so they bypass the document near cache
+ * and the read coalescing of the template.
+ *
+ * @param <T>
+ */
+public class BatchingEntityLoader<T> {
+
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final ElasticsearchEntityInformation<T, String> entityInformation;
+    private final long batchWindowInMillis;
+    private final int maxBatchSize;
+
+    private Batch<T> currentBatch;
+
+    public BatchingEntityLoader(ElasticsearchOperations elasticsearchOperations, ElasticsearchEntityInformation<T, String> entityInformation,
+                                long batchWindowInMillis, int maxBatchSize) {
+        Assert.notNull(elasticsearchOperations, "ElasticsearchOperations must not be null");
+        Assert.notNull(entityInformation, "EntityInformation must not be null");
+        Assert.isTrue(batchWindowInMillis > 0, "Batch window must be greater than 0");
+        Assert.isTrue(maxBatchSize > 0, "Maximum batch size must be greater than 0");
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.entityInformation = entityInformation;
+        this.batchWindowInMillis = batchWindowInMillis;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * @param id
+     * @return entity with the given id, null if there is none
+     */
+    public T load(String id) {
+        Assert.notNull(id, "Cannot load 'null' id.");
+        Batch<T> batch;
+        boolean leader;
+        synchronized (this) {
+            leader = currentBatch == null;
+            if (leader) {
+                currentBatch = new Batch<T>();
+            }
+            batch = currentBatch;
+            batch.ids.add(id);
+            if (batch.ids.size() >= maxBatchSize) {
+                currentBatch = null;
+                notifyAll();
+            }
+        }
+        if (leader) {
+            awaitBatchWindow(batch);
+            dispatch(batch);
+        }
+        return batch.get(id);
+    }
+
+    private synchronized void awaitBatchWindow(Batch<T> batch) {
+        long deadline = System.currentTimeMillis() + batchWindowInMillis;
+        long remaining = batchWindowInMillis;
+        try {
+            while (currentBatch == batch && remaining > 0) {
+                wait(remaining);
+                remaining = deadline - System.currentTimeMillis();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (currentBatch == batch) {
+                currentBatch = null;
+            }
+        }
+    }
+
+    private void dispatch(Batch<T> batch) {
+        try {
+            batch.entities = elasticsearchOperations.multiGetById(new ArrayList<String>(batch.ids), entityInformation.getJavaType());
+        } catch (RuntimeException e) {
+            batch.failure = e;
+        } finally {
+            batch.done.countDown();
+        }
+    }
+
+    private static class Batch<T> {
+
+        private final Set<String> ids = new LinkedHashSet<String>();
+        private final CountDownLatch done = new CountDownLatch(1);
+        private Map<String, T> entities;
+        private RuntimeException failure;
+
+        private T get(String id) {
+            try {
+                done.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ElasticsearchException("Interrupted while waiting for batched load of id [" + id + "]", e);
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return entities.get(id);
+        }
+    }
+}
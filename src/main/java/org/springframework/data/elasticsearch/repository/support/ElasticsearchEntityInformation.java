@@ -15,6 +15,7 @@
  */
 package org.springframework.data.elasticsearch.repository.support;
 
+import org.springframework.data.elasticsearch.core.RefreshPolicy;
 import org.springframework.data.repository.core.EntityInformation;
 
 import java.io.Serializable;
@@ -28,5 +29,6 @@ public interface ElasticsearchEntityInformation<T, ID extends Serializable> exte
 	String getIdAttribute();
     String getIndexName();
     String getType();
+    RefreshPolicy getRefreshPolicy();
 
 }
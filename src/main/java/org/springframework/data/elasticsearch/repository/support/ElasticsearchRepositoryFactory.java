@@ -15,7 +15,9 @@
  */
 package org.springframework.data.elasticsearch.repository.support;
 
+import org.springframework.data.elasticsearch.core.CoalescingRefresher;
 import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.RefreshPolicy;
 import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
 import org.springframework.data.elasticsearch.repository.query.ElasticsearchPartQuery;
 import org.springframework.data.elasticsearch.repository.query.ElasticsearchQueryMethod;
@@ -39,8 +41,16 @@ import static org.springframework.data.querydsl.QueryDslUtils.QUERY_DSL_PRESENT;
  */
 public class ElasticsearchRepositoryFactory extends RepositoryFactorySupport {
 
+    private static final long DEFAULT_REFRESH_MAX_DELAY_IN_MILLIS = 1000;
+    private static final int DEFAULT_FIND_ONE_MAX_BATCH_SIZE = 100;
+
     private final ElasticsearchOperations elasticsearchOperations;
     private final ElasticsearchEntityInformationCreator entityInformationCreator;
+    private RefreshPolicy refreshPolicy = RefreshPolicy.IMMEDIATE;
+    private long refreshMaxDelayInMillis = DEFAULT_REFRESH_MAX_DELAY_IN_MILLIS;
+    private CoalescingRefresher coalescingRefresher;
+    private long findOneBatchWindowInMillis = 0;
+    private int findOneMaxBatchSize = DEFAULT_FIND_ONE_MAX_BATCH_SIZE;
 
     public ElasticsearchRepositoryFactory(ElasticsearchOperations elasticsearchOperations) {
         Assert.notNull(elasticsearchOperations);
@@ -49,6 +59,56 @@ public class ElasticsearchRepositoryFactory extends RepositoryFactorySupport {
                 .getMappingContext());
     }
 
+    /**
+     * Refresh policy for entities which do not define one with {@link org.springframework.data.elasticsearch.annotations.Document#refreshPolicy()}.
+     * Defaults to {@link RefreshPolicy#IMMEDIATE}.
+     *
+     * @param refreshPolicy
+     */
+    public void setRefreshPolicy(RefreshPolicy refreshPolicy) {
+        Assert.notNull(refreshPolicy);
+        this.refreshPolicy = refreshPolicy == RefreshPolicy.DEFAULT ? RefreshPolicy.IMMEDIATE : refreshPolicy;
+    }
+
+    /**
+     * Maximum delay of a refresh with {@link RefreshPolicy#COALESCED}
+     *
+     * @param refreshMaxDelayInMillis
+     */
+    public void setRefreshMaxDelayInMillis(long refreshMaxDelayInMillis) {
+        this.refreshMaxDelayInMillis = refreshMaxDelayInMillis;
+    }
+
+    /**
+     * Time window in which concurrent findOne calls are collected and resolved with a single multi get.
+     * Defaults to 0, which gets every entity on its own. Batched findOne calls bypass the near cache and the
+     * read coalescing of the {@link org.springframework.data.elasticsearch.core.ElasticsearchTemplate}.
+     *
+     * @param findOneBatchWindowInMillis
+     */
+    public void setFindOneBatchWindowInMillis(long findOneBatchWindowInMillis) {
+        this.findOneBatchWindowInMillis = findOneBatchWindowInMillis;
+    }
+
+    /**
+     * Maximum number of ids of a findOne batch, a full batch is resolved without waiting for the end of the window
+     *
+     * @param findOneMaxBatchSize
+     */
+    public void setFindOneMaxBatchSize(int findOneMaxBatchSize) {
+        this.findOneMaxBatchSize = findOneMaxBatchSize;
+    }
+
+    /**
+     * Stop the scheduler of coalesced refreshes, if one was started
+     */
+    public synchronized void destroy() {
+        if (coalescingRefresher != null) {
+            coalescingRefresher.shutdown();
+            coalescingRefresher = null;
+        }
+    }
+
     @Override
     public <T, ID extends Serializable> ElasticsearchEntityInformation<T, ID> getEntityInformation(Class<T> domainClass) {
         return entityInformationCreator.getEntityInformation(domainClass);
@@ -57,11 +117,24 @@ public class ElasticsearchRepositoryFactory extends RepositoryFactorySupport {
     @Override
     @SuppressWarnings({ "rawtypes", "unchecked" })
     protected Object getTargetRepository(RepositoryMetadata metadata) {
-        SimpleElasticsearchRepository repository = new SimpleElasticsearchRepository(getEntityInformation(metadata.getDomainType()), elasticsearchOperations);
+        ElasticsearchEntityInformation entityInformation = getEntityInformation(metadata.getDomainType());
+        SimpleElasticsearchRepository repository = new SimpleElasticsearchRepository(entityInformation, elasticsearchOperations);
         repository.setEntityClass(metadata.getDomainType());
+        RefreshPolicy policy = entityInformation.getRefreshPolicy() != RefreshPolicy.DEFAULT ? entityInformation.getRefreshPolicy() : refreshPolicy;
+        repository.setRefreshPolicy(policy, policy == RefreshPolicy.COALESCED ? getCoalescingRefresher() : null);
+        if (findOneBatchWindowInMillis > 0) {
+            repository.setFindOneLoader(new BatchingEntityLoader(elasticsearchOperations, entityInformation, findOneBatchWindowInMillis, findOneMaxBatchSize));
+        }
         return repository;
     }
 
+    private synchronized CoalescingRefresher getCoalescingRefresher() {
+        if (coalescingRefresher == null) {
+            coalescingRefresher = new CoalescingRefresher(elasticsearchOperations, refreshMaxDelayInMillis);
+        }
+        return coalescingRefresher;
+    }
+
     @Override
     protected Class<?> getRepositoryBaseClass(RepositoryMetadata metadata) {
         if (isQueryDslRepository(metadata.getRepositoryInterface())) {
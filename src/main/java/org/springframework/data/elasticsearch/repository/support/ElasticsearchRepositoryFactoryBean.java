@@ -15,7 +15,9 @@
  */
 package org.springframework.data.elasticsearch.repository.support;
 
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.RefreshPolicy;
 import org.springframework.data.repository.Repository;
 import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
 import org.springframework.data.repository.core.support.RepositoryFactorySupport;
@@ -28,9 +30,14 @@ import java.io.Serializable;
  * 
  */
 public class ElasticsearchRepositoryFactoryBean<T extends Repository<S, ID>, S, ID extends Serializable> extends
-        RepositoryFactoryBeanSupport<T, S, ID> {
+        RepositoryFactoryBeanSupport<T, S, ID> implements DisposableBean {
 
 	private ElasticsearchOperations operations;
+	private RefreshPolicy refreshPolicy = RefreshPolicy.IMMEDIATE;
+	private Long refreshMaxDelayInMillis;
+	private Long findOneBatchWindowInMillis;
+	private Integer findOneMaxBatchSize;
+	private ElasticsearchRepositoryFactory factory;
 
 	/**
 	 * Configures the {@link ElasticsearchOperations} to be used to create Elasticsearch repositories.
@@ -42,6 +49,45 @@ public class ElasticsearchRepositoryFactoryBean<T extends Repository<S, ID>, S,
 		this.operations = operations;
 	}
 
+	/**
+	 * Configures the {@link RefreshPolicy} applied after write operations of the repository, unless the entity
+	 * defines its own one.
+	 *
+	 * @param refreshPolicy the refresh policy to set
+	 */
+	public void setRefreshPolicy(RefreshPolicy refreshPolicy) {
+		Assert.notNull(refreshPolicy);
+		this.refreshPolicy = refreshPolicy;
+	}
+
+	/**
+	 * Configures the maximum delay of refreshes with {@link RefreshPolicy#COALESCED}.
+	 *
+	 * @param refreshMaxDelayInMillis the maximum delay to set
+	 */
+	public void setRefreshMaxDelayInMillis(long refreshMaxDelayInMillis) {
+		this.refreshMaxDelayInMillis = refreshMaxDelayInMillis;
+	}
+
+	/**
+	 * Configures the time window in which concurrent findOne calls are merged into a single multi get.
+	 * Batched findOne calls bypass the near cache and the read coalescing of the template.
+	 *
+	 * @param findOneBatchWindowInMillis the batch window to set, 0 to disable batching
+	 */
+	public void setFindOneBatchWindowInMillis(long findOneBatchWindowInMillis) {
+		this.findOneBatchWindowInMillis = findOneBatchWindowInMillis;
+	}
+
+	/**
+	 * Configures the maximum number of ids merged into a single multi get by findOne batching.
+	 *
+	 * @param findOneMaxBatchSize the maximum batch size to set
+	 */
+	public void setFindOneMaxBatchSize(int findOneMaxBatchSize) {
+		this.findOneMaxBatchSize = findOneMaxBatchSize;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport#afterPropertiesSet()
@@ -55,7 +101,25 @@ public class ElasticsearchRepositoryFactoryBean<T extends Repository<S, ID>, S,
 
     @Override
     protected RepositoryFactorySupport createRepositoryFactory() {
-        return new ElasticsearchRepositoryFactory(operations);
+        factory = new ElasticsearchRepositoryFactory(operations);
+        factory.setRefreshPolicy(refreshPolicy);
+        if (refreshMaxDelayInMillis != null) {
+            factory.setRefreshMaxDelayInMillis(refreshMaxDelayInMillis);
+        }
+        if (findOneBatchWindowInMillis != null) {
+            factory.setFindOneBatchWindowInMillis(findOneBatchWindowInMillis);
+        }
+        if (findOneMaxBatchSize != null) {
+            factory.setFindOneMaxBatchSize(findOneMaxBatchSize);
+        }
+        return factory;
+    }
+
+    @Override
+    public void destroy() {
+        if (factory != null) {
+            factory.destroy();
+        }
     }
 
 }
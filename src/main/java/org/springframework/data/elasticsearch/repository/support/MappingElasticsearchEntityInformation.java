@@ -15,6 +15,7 @@
  */
 package org.springframework.data.elasticsearch.repository.support;
 
+import org.springframework.data.elasticsearch.core.RefreshPolicy;
 import org.springframework.data.elasticsearch.core.mapping.ElasticsearchPersistentEntity;
 import org.springframework.data.elasticsearch.core.mapping.ElasticsearchPersistentProperty;
 import org.springframework.data.mapping.model.BeanWrapper;
@@ -79,4 +80,9 @@ public class MappingElasticsearchEntityInformation<T, ID extends Serializable> e
     public String getType() {
         return type != null? type : entityMetadata.getIndexType();
     }
+
+    @Override
+    public RefreshPolicy getRefreshPolicy() {
+        return entityMetadata.getRefreshPolicy();
+    }
 }
@@ -18,10 +18,14 @@ package org.springframework.data.elasticsearch.repository.support;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.domain.*;
+import org.springframework.data.elasticsearch.core.CoalescingRefresher;
 import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.KeysetPage;
+import org.springframework.data.elasticsearch.core.RefreshPolicy;
 import org.springframework.data.elasticsearch.core.query.DeleteQuery;
 import org.springframework.data.elasticsearch.core.query.GetQuery;
 import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.data.elasticsearch.core.query.Keyset;
 import org.springframework.data.elasticsearch.core.query.SearchQuery;
 import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
 import org.springframework.util.Assert;
@@ -31,10 +35,9 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
-import static org.elasticsearch.index.query.QueryBuilders.inQuery;
 import static org.elasticsearch.index.query.QueryBuilders.matchAllQuery;
 
 /**
@@ -44,10 +47,16 @@ import static org.elasticsearch.index.query.QueryBuilders.matchAllQuery;
  */
 public class SimpleElasticsearchRepository<T> implements ElasticsearchRepository<T, String> {
 
+    private static final int STREAM_WINDOW_SIZE = 500;
+    // the id source property is analyzed under dynamic mapping, _uid (type#id) is indexed as a single term
+    private static final String KEYSET_TIEBREAKER = "_uid";
 
     private ElasticsearchOperations elasticsearchOperations;
     private Class<T> entityClass;
     private ElasticsearchEntityInformation<T, String> entityInformation;
+    private RefreshPolicy refreshPolicy = RefreshPolicy.IMMEDIATE;
+    private CoalescingRefresher coalescingRefresher;
+    private BatchingEntityLoader<T> findOneLoader;
 
     public SimpleElasticsearchRepository() {
     }
@@ -71,6 +80,9 @@ public class SimpleElasticsearchRepository<T> implements ElasticsearchRepository
 
     @Override
     public T findOne(String id) {
+        if (findOneLoader != null) {
+            return findOneLoader.load(id);
+        }
         GetQuery query = new GetQuery();
         query.setId(id);
         return elasticsearchOperations.queryForObject(query, getEntityClass());
@@ -78,11 +90,7 @@ public class SimpleElasticsearchRepository<T> implements ElasticsearchRepository
 
     @Override
     public Iterable<T> findAll() {
-        int itemCount = (int) this.count();
-        if (itemCount == 0) {
-            return new PageImpl<T>(Collections.<T> emptyList());
-        }
-        return this.findAll(new PageRequest(0, Math.max(1, itemCount)));
+        return streamAll(null);
     }
 
     @Override
@@ -94,17 +102,17 @@ public class SimpleElasticsearchRepository<T> implements ElasticsearchRepository
 
     @Override
     public Iterable<T> findAll(Sort sort) {
-        SearchQuery query = new SearchQuery();
-        query.setElasticsearchQuery(matchAllQuery());
-        query.setPageable(new PageRequest(0,Integer.MAX_VALUE, sort));
-        return elasticsearchOperations.queryForPage(query, getEntityClass());
+        return streamAll(sort);
     }
 
     @Override
     public Iterable<T> findAll(Iterable<String> ids) {
-        SearchQuery query = new SearchQuery();
-        query.setElasticsearchQuery(inQuery(entityInformation.getIdAttribute(), ids));
-        return elasticsearchOperations.queryForPage(query, getEntityClass());
+        Assert.notNull(ids, "Cannot find by 'null' ids.");
+        List<String> idList = new ArrayList<String>();
+        for (String id : ids) {
+            idList.add(id);
+        }
+        return elasticsearchOperations.multiGet(idList, getEntityClass());
     }
 
     @Override
@@ -117,7 +125,7 @@ public class SimpleElasticsearchRepository<T> implements ElasticsearchRepository
     public <S extends T> S save(S entity) {
         Assert.notNull(entity, "Cannot save 'null' entity.");
         elasticsearchOperations.index(createIndexQuery(entity));
-        elasticsearchOperations.refresh(entityInformation.getIndexName(), true);
+        refreshAfterWrite();
         return entity;
     }
 
@@ -129,7 +137,7 @@ public class SimpleElasticsearchRepository<T> implements ElasticsearchRepository
             queries.add(createIndexQuery(s));
         }
         elasticsearchOperations.bulkIndex(queries);
-        elasticsearchOperations.refresh(entityInformation.getIndexName(), true);
+        refreshAfterWrite();
         return entities;
     }
 
@@ -149,13 +157,13 @@ public class SimpleElasticsearchRepository<T> implements ElasticsearchRepository
             queries.add(createIndexQuery(s));
         }
         elasticsearchOperations.bulkIndex(queries);
-        elasticsearchOperations.refresh(entityInformation.getIndexName(), true);
+        refreshAfterWrite();
         return entities;
     }
 
     @Override
     public boolean exists(String id) {
-        return findOne(id) != null;
+        return elasticsearchOperations.exists(getEntityClass(), id);
     }
 
     @Override
@@ -178,26 +186,57 @@ public class SimpleElasticsearchRepository<T> implements ElasticsearchRepository
         return elasticsearchOperations.queryForPage(query, getEntityClass());
     }
 
+    @Override
+    public KeysetPage<T> findAllAfter(String cursor, Pageable pageable) {
+        Assert.notNull(pageable, "Cannot page with 'null' pageable.");
+        SearchQuery query = new SearchQuery();
+        query.setElasticsearchQuery(matchAllQuery());
+        query.setPageable(pageable);
+        return search(query, cursor);
+    }
+
+    @Override
+    public KeysetPage<T> search(SearchQuery query, String cursor) {
+        Keyset after = cursor != null ? Keyset.fromCursor(cursor) : null;
+        return elasticsearchOperations.queryForKeysetPage(query, KEYSET_TIEBREAKER, after, getEntityClass());
+    }
+
     @Override
     public void delete(String id) {
         Assert.notNull(id, "Cannot delete entity with id 'null'.");
         elasticsearchOperations.delete(entityInformation.getIndexName(), entityInformation.getType(),id);
-        elasticsearchOperations.refresh(entityInformation.getIndexName(),true);
+        refreshAfterWrite();
     }
 
     @Override
     public void delete(T entity) {
         Assert.notNull(entity, "Cannot delete 'null' entity.");
         delete(extractIdFromBean(entity));
-        elasticsearchOperations.refresh(entityInformation.getIndexName(), true);
     }
 
     @Override
     public void delete(Iterable<? extends T> entities) {
         Assert.notNull(entities, "Cannot delete 'null' list.");
+        List<String> ids = new ArrayList<String>();
         for (T entity : entities) {
-            delete(entity);
+            ids.add(extractIdFromBean(entity));
+        }
+        deleteAll(ids);
+    }
+
+    @Override
+    public void deleteAll(Iterable<String> ids) {
+        Assert.notNull(ids, "Cannot delete 'null' list.");
+        List<String> idList = new ArrayList<String>();
+        for (String id : ids) {
+            Assert.notNull(id, "Cannot delete entity with id 'null'.");
+            idList.add(id);
         }
+        if (idList.isEmpty()) {
+            return;
+        }
+        elasticsearchOperations.bulkDelete(entityInformation.getIndexName(), entityInformation.getType(), idList);
+        refreshAfterWrite();
     }
 
     @Override
@@ -205,7 +244,40 @@ public class SimpleElasticsearchRepository<T> implements ElasticsearchRepository
         DeleteQuery query = new DeleteQuery();
         query.setElasticsearchQuery(matchAllQuery());
         elasticsearchOperations.delete(query, getEntityClass());
-        elasticsearchOperations.refresh(entityInformation.getIndexName(),true);
+        refreshAfterWrite();
+    }
+
+    @Override
+    public void refresh() {
+        elasticsearchOperations.refresh(entityInformation.getIndexName(), true);
+    }
+
+    private void refreshAfterWrite() {
+        switch (refreshPolicy) {
+            case IMMEDIATE:
+                refresh();
+                break;
+            case COALESCED:
+                coalescingRefresher.requestRefresh(entityInformation.getIndexName());
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Every call to {@link Iterable#iterator()} scrolls through all documents in windows of {@link #STREAM_WINDOW_SIZE}
+     */
+    private Iterable<T> streamAll(final Sort sort) {
+        return new Iterable<T>() {
+            @Override
+            public Iterator<T> iterator() {
+                SearchQuery query = new SearchQuery();
+                query.setElasticsearchQuery(matchAllQuery());
+                query.setPageable(new PageRequest(0, STREAM_WINDOW_SIZE, sort));
+                return elasticsearchOperations.stream(query, getEntityClass());
+            }
+        };
     }
 
     private IndexQuery createIndexQuery(T entity){
@@ -253,6 +325,28 @@ public class SimpleElasticsearchRepository<T> implements ElasticsearchRepository
         this.entityClass = entityClass;
     }
 
+    /**
+     * Policy applied after write operations, {@link RefreshPolicy#COALESCED} requires a {@link CoalescingRefresher}
+     *
+     * @param refreshPolicy
+     * @param coalescingRefresher
+     */
+    public final void setRefreshPolicy(RefreshPolicy refreshPolicy, CoalescingRefresher coalescingRefresher) {
+        Assert.notNull(refreshPolicy, "RefreshPolicy must not be null.");
+        Assert.isTrue(refreshPolicy != RefreshPolicy.COALESCED || coalescingRefresher != null, "RefreshPolicy COALESCED requires a CoalescingRefresher.");
+        this.refreshPolicy = refreshPolicy == RefreshPolicy.DEFAULT ? RefreshPolicy.IMMEDIATE : refreshPolicy;
+        this.coalescingRefresher = coalescingRefresher;
+    }
+
+    /**
+     * Loader merging concurrent {@link #findOne(String)} calls into multi get requests, null to get every entity on its own
+     *
+     * @param findOneLoader
+     */
+    public final void setFindOneLoader(BatchingEntityLoader<T> findOneLoader) {
+        this.findOneLoader = findOneLoader;
+    }
+
     public final void setElasticsearchOperations(ElasticsearchOperations elasticsearchOperations) {
         Assert.notNull(elasticsearchOperations, "ElasticsearchOperations must not be null.");
         this.elasticsearchOperations = elasticsearchOperations;
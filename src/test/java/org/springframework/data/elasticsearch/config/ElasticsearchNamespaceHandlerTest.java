@@ -2,13 +2,16 @@ package org.springframework.data.elasticsearch.config;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.springframework.aop.framework.Advised;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.data.elasticsearch.repositories.SampleElasticsearchRepository;
 import org.springframework.data.elasticsearch.client.NodeClientFactoryBean;
 import org.springframework.data.elasticsearch.client.TransportClientFactoryBean;
+import org.springframework.data.elasticsearch.core.RefreshPolicy;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.notNullValue;
@@ -41,4 +44,10 @@ public class ElasticsearchNamespaceHandlerTest {
         assertThat(context.getBean(SampleElasticsearchRepository.class), is(instanceOf(SampleElasticsearchRepository.class)));
     }
 
+    @Test
+    public void shouldApplyRefreshPolicyToRepository() throws Exception {
+        Object repository = ((Advised) context.getBean(SampleElasticsearchRepository.class)).getTargetSource().getTarget();
+        assertThat(ReflectionTestUtils.getField(repository, "refreshPolicy"), is((Object) RefreshPolicy.NONE));
+    }
+
 }
@@ -3,15 +3,18 @@ package org.springframework.data.elasticsearch.config;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.springframework.aop.framework.Advised;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
 import org.springframework.data.elasticsearch.core.ElasticsearchTemplate;
+import org.springframework.data.elasticsearch.core.RefreshPolicy;
 import org.springframework.data.elasticsearch.repositories.SampleElasticsearchRepository;
 import org.springframework.data.elasticsearch.repository.config.EnableElasticsearchRepositories;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import static org.elasticsearch.node.NodeBuilder.nodeBuilder;
 import static org.hamcrest.CoreMatchers.is;
@@ -24,7 +27,7 @@ import static org.junit.Assert.assertThat;
 public class EnableElasticsearchRepositoriesTest {
 
     @Configuration
-    @EnableElasticsearchRepositories(basePackages = "org.springframework.data.elasticsearch.repositories")
+    @EnableElasticsearchRepositories(basePackages = "org.springframework.data.elasticsearch.repositories", refreshPolicy = RefreshPolicy.NONE)
     static class Config {
 
         @Bean
@@ -41,4 +44,10 @@ public class EnableElasticsearchRepositoriesTest {
         assertThat(repository, is(notNullValue()));
     }
 
+    @Test
+    public void shouldApplyRefreshPolicyToRepository() throws Exception {
+        Object target = ((Advised) repository).getTargetSource().getTarget();
+        assertThat(ReflectionTestUtils.getField(target, "refreshPolicy"), is((Object) RefreshPolicy.NONE));
+    }
+
 }
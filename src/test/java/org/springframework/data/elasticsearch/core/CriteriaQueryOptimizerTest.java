@@ -0,0 +1,120 @@
+package org.springframework.data.elasticsearch.core;
+
+
+import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.FieldQueryBuilder;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.index.query.RangeQueryBuilder;
+import org.junit.Test;
+import org.springframework.data.elasticsearch.core.query.Criteria;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static org.springframework.data.elasticsearch.core.query.Criteria.OperationKey;
+
+public class CriteriaQueryOptimizerTest {
+
+    private final CriteriaQueryOptimizer optimizer = new CriteriaQueryOptimizer();
+
+    @Test
+    public void shouldMergeConjunctiveClausesOnSameField(){
+        //given
+        Criteria criteria = new Criteria("message").is("foo").and("rate").is(1).and("message").contains("bar");
+        //when
+        List<CriteriaQueryOptimizer.Clause> clauses = optimizer.optimize(criteria);
+        //then
+        assertThat(clauses.size(), is(2));
+        assertThat(clauses.get(0).getFieldName(), is("message"));
+        assertThat(clauses.get(0).getEntries().size(), is(2));
+        assertThat(clauses.get(0).getEntries().get(0).getKey(), is(OperationKey.EQUALS));
+        assertThat(clauses.get(0).getEntries().get(1).getKey(), is(OperationKey.CONTAINS));
+        assertThat(clauses.get(1).getFieldName(), is("rate"));
+    }
+
+    @Test
+    public void shouldNotMergeDisjunctiveOrBoostedClauses(){
+        //given
+        Criteria criteria = new Criteria("message").is("foo").or("message").is("bar")
+                .and(new Criteria("message").is("baz").boost(2));
+        //when
+        List<CriteriaQueryOptimizer.Clause> clauses = optimizer.optimize(criteria);
+        //then
+        assertThat(clauses.size(), is(3));
+        assertThat(clauses.get(0).getOccur(), is(CriteriaQueryOptimizer.Occur.MUST));
+        assertThat(clauses.get(1).getOccur(), is(CriteriaQueryOptimizer.Occur.SHOULD));
+        assertThat(clauses.get(2).isBoosted(), is(true));
+    }
+
+    @Test
+    public void shouldCombineOpenEndedRangesIntoSingleRange(){
+        //given
+        Criteria criteria = new Criteria("rate").greaterThanEqual(1002).and("rate").lessThanEqual(1003);
+        //when
+        List<CriteriaQueryOptimizer.Clause> clauses = optimizer.optimize(criteria);
+        //then
+        assertThat(clauses.size(), is(1));
+        List<CriteriaQueryOptimizer.Entry> entries = clauses.get(0).getEntries();
+        assertThat(entries.size(), is(1));
+        assertThat(entries.get(0).getKey(), is(OperationKey.BETWEEN));
+        assertThat((Object[]) entries.get(0).getValue(), is(arrayContaining((Object) 1002, 1003)));
+    }
+
+    @Test
+    public void shouldDropNullEntriesAndClausesLeftWithoutEntries(){
+        //given
+        Criteria criteria = new Criteria("message").is("foo").and("type").is(null);
+        //when
+        List<CriteriaQueryOptimizer.Clause> clauses = optimizer.optimize(criteria);
+        //then
+        assertThat(clauses.size(), is(1));
+        assertThat(clauses.get(0).getFieldName(), is("message"));
+    }
+
+    @Test
+    public void shouldRemoveDuplicateEntriesAndClauses(){
+        //given
+        Criteria criteria = new Criteria("message").is("foo").and("message").is("foo")
+                .or("type").is("bar").or("type").is("bar");
+        //when
+        List<CriteriaQueryOptimizer.Clause> clauses = optimizer.optimize(criteria);
+        //then
+        assertThat(clauses.size(), is(2));
+        assertThat(clauses.get(0).getEntries().size(), is(1));
+        assertThat(clauses.get(1).getOccur(), is(CriteriaQueryOptimizer.Occur.SHOULD));
+        assertThat(clauses.get(1).getEntries().size(), is(1));
+    }
+
+    @Test
+    public void shouldNotWrapSingleClauseInBoolQuery(){
+        //given
+        Criteria criteria = new Criteria("message").is("foo").and("message").is("foo");
+        //when
+        QueryBuilder query = new CriteriaQueryProcessor().createQueryFromCriteria(criteria);
+        //then
+        assertThat(query, is(instanceOf(FieldQueryBuilder.class)));
+    }
+
+    @Test
+    public void shouldCompileMergedRangesIntoSingleRangeQuery(){
+        //given
+        Criteria criteria = new Criteria("rate").greaterThanEqual(1002).and("rate").lessThanEqual(1003).and("type").is(null);
+        //when
+        QueryBuilder query = new CriteriaQueryProcessor().createQueryFromCriteria(criteria);
+        //then
+        assertThat(query, is(instanceOf(RangeQueryBuilder.class)));
+    }
+
+    @Test
+    public void shouldAddUnboostedConjunctionsDirectlyToBoolQuery(){
+        //given
+        Criteria criteria = new Criteria("message").is("foo").and("message").contains("bar").and("rate").is(1);
+        //when
+        QueryBuilder query = new CriteriaQueryProcessor().createQueryFromCriteria(criteria);
+        //then
+        assertThat(query, is(instanceOf(BoolQueryBuilder.class)));
+        String json = query.toString();
+        assertThat(json.indexOf("\"bool\""), is(equalTo(json.lastIndexOf("\"bool\""))));
+    }
+}
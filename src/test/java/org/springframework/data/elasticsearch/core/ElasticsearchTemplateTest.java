@@ -1,29 +1,55 @@
 package org.springframework.data.elasticsearch.core;
 
 
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.admin.cluster.health.ClusterHealthResponse;
+import org.elasticsearch.action.get.GetRequest;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchType;
+import org.elasticsearch.client.Client;
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.elasticsearch.SampleEntity;
+import org.springframework.data.elasticsearch.core.facet.*;
 import org.springframework.data.elasticsearch.core.query.*;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
+import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.apache.commons.lang.RandomStringUtils.randomNumeric;
 import static org.elasticsearch.index.query.FilterBuilders.boolFilter;
 import static org.elasticsearch.index.query.FilterBuilders.termFilter;
 import static org.elasticsearch.index.query.QueryBuilders.fieldQuery;
 import static org.elasticsearch.index.query.QueryBuilders.matchAllQuery;
+import static org.elasticsearch.index.query.QueryBuilders.termQuery;
+import static org.elasticsearch.search.facet.FacetBuilders.histogramFacet;
+import static org.elasticsearch.search.facet.FacetBuilders.rangeFacet;
+import static org.elasticsearch.search.facet.FacetBuilders.statisticalFacet;
+import static org.elasticsearch.search.facet.FacetBuilders.termsFacet;
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
 
 @RunWith(SpringJUnit4ClassRunner.class)
 @ContextConfiguration("classpath:elasticsearch-template-test.xml")
@@ -32,15 +58,32 @@ public class ElasticsearchTemplateTest {
     @Autowired
     private ElasticsearchTemplate elasticsearchTemplate;
 
+    @Autowired
+    private Client client;
+
     @Before
-    public void before(){
+    public void before() throws InterruptedException {
         elasticsearchTemplate.createIndex(SampleEntity.class);
+        waitForStartedShards();
         DeleteQuery deleteQuery = new DeleteQuery();
         deleteQuery.setElasticsearchQuery(matchAllQuery());
         elasticsearchTemplate.delete(deleteQuery,SampleEntity.class);
         elasticsearchTemplate.refresh(SampleEntity.class, true);
     }
 
+    /**
+     * The local nodes of all test contexts join one cluster. Shard copies which are still recovering or relocating
+     * miss refreshes, so a search or scroll routed to them would see an incomplete index.
+     */
+    private void waitForStartedShards() throws InterruptedException {
+        ClusterHealthResponse health = client.admin().cluster().prepareHealth("test-index")
+                .setWaitForYellowStatus().setWaitForRelocatingShards(0).execute().actionGet();
+        while (health.getInitializingShards() > 0 || health.getRelocatingShards() > 0) {
+            Thread.sleep(50);
+            health = client.admin().cluster().prepareHealth("test-index").execute().actionGet();
+        }
+    }
+
     @Test
     public void shouldReturnCountForGivenSearchQuery(){
         //given
@@ -61,6 +104,389 @@ public class ElasticsearchTemplateTest {
         assertThat(count, is(equalTo(1L)));
     }
 
+    @Test
+    public void shouldReturnCountForGivenCriteriaQuery(){
+        //given
+        String documentId = randomNumeric(5);
+        SampleEntity sampleEntity = new SampleEntity();
+        sampleEntity.setId(documentId);
+        sampleEntity.setMessage("some message");
+        IndexQuery indexQuery = new IndexQuery();
+        indexQuery.setId(documentId);
+        indexQuery.setObject(sampleEntity);
+        elasticsearchTemplate.index(indexQuery);
+        elasticsearchTemplate.refresh(SampleEntity.class, true);
+        CriteriaQuery criteriaQuery = new CriteriaQuery(new Criteria("message").contains("some"));
+        //when
+        long count = elasticsearchTemplate.count(criteriaQuery, SampleEntity.class);
+        //then
+        assertThat(count, is(equalTo(1L)));
+    }
+
+    @Test
+    public void shouldReturnCountForGivenStringQuery(){
+        //given
+        String documentId = randomNumeric(5);
+        SampleEntity sampleEntity = new SampleEntity();
+        sampleEntity.setId(documentId);
+        sampleEntity.setMessage("some message");
+        IndexQuery indexQuery = new IndexQuery();
+        indexQuery.setId(documentId);
+        indexQuery.setObject(sampleEntity);
+        elasticsearchTemplate.index(indexQuery);
+        elasticsearchTemplate.refresh(SampleEntity.class, true);
+        StringQuery stringQuery = new StringQuery(termQuery("id", documentId).toString());
+        //when
+        long count = elasticsearchTemplate.count(stringQuery, SampleEntity.class);
+        //then
+        assertThat(count, is(equalTo(1L)));
+    }
+
+    @Test
+    public void shouldReturnListForGivenCriteriaQuery(){
+        //given
+        List<IndexQuery> indexQueries = new ArrayList<IndexQuery>();
+        for (int i = 0; i < 3; i++) {
+            String documentId = randomNumeric(5);
+            SampleEntity sampleEntity = new SampleEntity();
+            sampleEntity.setId(documentId);
+            sampleEntity.setMessage("some message");
+            IndexQuery indexQuery = new IndexQuery();
+            indexQuery.setId(documentId);
+            indexQuery.setObject(sampleEntity);
+            indexQueries.add(indexQuery);
+        }
+        elasticsearchTemplate.bulkIndex(indexQueries);
+        elasticsearchTemplate.refresh(SampleEntity.class, true);
+        CriteriaQuery criteriaQuery = new CriteriaQuery(new Criteria("message").contains("some"));
+        criteriaQuery.setPageable(new PageRequest(0, 2));
+        //when
+        SliceList<SampleEntity> entities = elasticsearchTemplate.queryForList(criteriaQuery, SampleEntity.class);
+        criteriaQuery.setPageable(entities.nextPageable());
+        SliceList<SampleEntity> nextEntities = elasticsearchTemplate.queryForList(criteriaQuery, SampleEntity.class);
+        //then
+        assertThat(entities.size(), is(equalTo(2)));
+        assertThat(entities.hasNext(), is(true));
+        assertThat(nextEntities.size(), is(equalTo(1)));
+        assertThat(nextEntities.hasNext(), is(false));
+        assertThat(nextEntities.nextPageable(), is(nullValue()));
+    }
+
+    @Test
+    public void shouldReturnSecondPageForPageNumberOne(){
+        //given
+        List<IndexQuery> indexQueries = new ArrayList<IndexQuery>();
+        for (int i = 0; i < 3; i++) {
+            String documentId = randomNumeric(5);
+            SampleEntity sampleEntity = new SampleEntity();
+            sampleEntity.setId(documentId);
+            sampleEntity.setMessage("some message");
+            IndexQuery indexQuery = new IndexQuery();
+            indexQuery.setId(documentId);
+            indexQuery.setObject(sampleEntity);
+            indexQueries.add(indexQuery);
+        }
+        elasticsearchTemplate.bulkIndex(indexQueries);
+        elasticsearchTemplate.refresh(SampleEntity.class, true);
+        SearchQuery searchQuery = new SearchQuery();
+        searchQuery.setElasticsearchQuery(matchAllQuery());
+        searchQuery.setPageable(new PageRequest(1, 2));
+        //when
+        Page<SampleEntity> page = elasticsearchTemplate.queryForPage(searchQuery, SampleEntity.class);
+        //then
+        assertThat(page.getTotalElements(), is(equalTo(3L)));
+        assertThat(page.getContent().size(), is(equalTo(1)));
+    }
+
+    @Test
+    public void shouldPageThroughAllDocumentsByKeyset(){
+        //given
+        int[] rates = {1, 1, 2, 2, 2, 3, 3};
+        List<IndexQuery> indexQueries = new ArrayList<IndexQuery>();
+        for (int rate : rates) {
+            String documentId = randomNumeric(5);
+            SampleEntity sampleEntity = new SampleEntity();
+            sampleEntity.setId(documentId);
+            sampleEntity.setMessage("some message");
+            sampleEntity.setRate(rate);
+            IndexQuery indexQuery = new IndexQuery();
+            indexQuery.setId(documentId);
+            indexQuery.setObject(sampleEntity);
+            indexQueries.add(indexQuery);
+        }
+        elasticsearchTemplate.bulkIndex(indexQueries);
+        elasticsearchTemplate.refresh(SampleEntity.class, true);
+        CriteriaQuery criteriaQuery = new CriteriaQuery(new Criteria("message").contains("some"));
+        criteriaQuery.setPageable(new PageRequest(0, 3, new Sort(Sort.Direction.DESC, "rate")));
+        //when
+        List<SampleEntity> entities = new ArrayList<SampleEntity>();
+        List<Integer> windowSizes = new ArrayList<Integer>();
+        Keyset after = null;
+        do {
+            KeysetPage<SampleEntity> page = elasticsearchTemplate.queryForKeysetPage(criteriaQuery, "id", after, SampleEntity.class);
+            entities.addAll(page.getContent());
+            windowSizes.add(page.getContent().size());
+            after = page.hasNext() ? Keyset.fromCursor(page.getNextCursor()) : null;
+        } while (after != null);
+        //then
+        assertThat(windowSizes, contains(3, 3, 1));
+        Set<String> ids = new HashSet<String>();
+        List<Integer> sortedRates = new ArrayList<Integer>();
+        for (SampleEntity entity : entities) {
+            ids.add(entity.getId());
+            sortedRates.add(entity.getRate());
+        }
+        assertThat(ids.size(), is(equalTo(rates.length)));
+        assertThat(sortedRates, contains(3, 3, 2, 2, 2, 1, 1));
+    }
+
+    @Test
+    public void shouldReturnFacetsWithPage(){
+        //given
+        indexEntitiesWithTypeAndRate();
+        SearchQuery searchQuery = new SearchQuery();
+        searchQuery.setElasticsearchQuery(matchAllQuery());
+        searchQuery.addFacet(termsFacet("types").field("type"));
+        searchQuery.addFacet(statisticalFacet("rates").field("rate"));
+        //when
+        FacetedPage<SampleEntity> page = elasticsearchTemplate.queryForFacetedPage(searchQuery, SampleEntity.class);
+        //then
+        assertThat(page.getTotalElements(), is(equalTo(3L)));
+        assertThat(page.getContent().size(), is(equalTo(3)));
+        TermsFacetResult types = (TermsFacetResult) page.getFacet("types");
+        assertThat(types.getTerms().size(), is(equalTo(2)));
+        assertThat(types.getTerms().get(0).getTerm(), is(equalTo("book")));
+        assertThat(types.getTerms().get(0).getCount(), is(equalTo(2L)));
+        StatisticalFacetResult rates = (StatisticalFacetResult) page.getFacet("rates");
+        assertThat(rates.getCount(), is(equalTo(3L)));
+        assertThat(rates.getMin(), is(equalTo(10.0)));
+        assertThat(rates.getMax(), is(equalTo(30.0)));
+        assertThat(rates.getTotal(), is(equalTo(60.0)));
+    }
+
+    @Test
+    public void shouldReturnOnlyFacetsForCountSearch(){
+        //given
+        indexEntitiesWithTypeAndRate();
+        SearchQuery searchQuery = new SearchQuery();
+        searchQuery.setElasticsearchQuery(matchAllQuery());
+        searchQuery.addFacet(rangeFacet("rateRanges").field("rate").addUnboundedFrom(15).addUnboundedTo(15));
+        searchQuery.addFacet(histogramFacet("rateHistogram").field("rate").interval(20));
+        //when
+        List<FacetResult> facets = elasticsearchTemplate.queryForFacets(searchQuery, SampleEntity.class);
+        //then
+        assertThat(facets.size(), is(equalTo(2)));
+        RangeFacetResult ranges = (RangeFacetResult) facets.get(0);
+        assertThat(ranges.getRanges().size(), is(equalTo(2)));
+        assertThat(ranges.getRanges().get(0).getFrom(), is(nullValue()));
+        assertThat(ranges.getRanges().get(0).getCount(), is(equalTo(1L)));
+        assertThat(ranges.getRanges().get(1).getCount(), is(equalTo(2L)));
+        HistogramFacetResult histogram = (HistogramFacetResult) facets.get(1);
+        assertThat(histogram.getType(), is(FacetType.HISTOGRAM));
+        assertThat(histogram.getIntervalUnits().size(), is(equalTo(2)));
+        assertThat(histogram.getIntervalUnits().get(0).getKey(), is(equalTo(0L)));
+        assertThat(histogram.getIntervalUnits().get(0).getCount(), is(equalTo(1L)));
+    }
+
+    private void indexEntitiesWithTypeAndRate(){
+        String[] types = {"book", "book", "music"};
+        int[] rates = {10, 20, 30};
+        List<IndexQuery> indexQueries = new ArrayList<IndexQuery>();
+        for (int i = 0; i < types.length; i++) {
+            String documentId = randomNumeric(5);
+            SampleEntity sampleEntity = new SampleEntity();
+            sampleEntity.setId(documentId);
+            sampleEntity.setType(types[i]);
+            sampleEntity.setRate(rates[i]);
+            sampleEntity.setMessage("some message");
+            IndexQuery indexQuery = new IndexQuery();
+            indexQuery.setId(documentId);
+            indexQuery.setObject(sampleEntity);
+            indexQueries.add(indexQuery);
+        }
+        elasticsearchTemplate.bulkIndex(indexQueries);
+        elasticsearchTemplate.refresh(SampleEntity.class, true);
+    }
+
+    @Test
+    public void shouldServeCachedResultsUntilIndexIsWritten(){
+        //given
+        QueryResultCache queryResultCache = new QueryResultCache(100, 60000);
+        elasticsearchTemplate.setQueryResultCache(queryResultCache);
+        try {
+            String documentId = randomNumeric(5);
+            SampleEntity sampleEntity = new SampleEntity();
+            sampleEntity.setId(documentId);
+            sampleEntity.setMessage("some message");
+            IndexQuery indexQuery = new IndexQuery();
+            indexQuery.setId(documentId);
+            indexQuery.setObject(sampleEntity);
+            elasticsearchTemplate.index(indexQuery);
+            elasticsearchTemplate.refresh(SampleEntity.class, true);
+            CriteriaQuery criteriaQuery = new CriteriaQuery(new Criteria("message").contains("some"));
+            //when
+            Page<SampleEntity> first = elasticsearchTemplate.queryForPage(criteriaQuery, SampleEntity.class);
+            first.getContent().get(0).setMessage("modified by caller");
+            int cachedResults = queryResultCache.size();
+            Page<SampleEntity> second = elasticsearchTemplate.queryForPage(criteriaQuery, SampleEntity.class);
+            long count = elasticsearchTemplate.count(criteriaQuery, SampleEntity.class);
+            String documentId2 = randomNumeric(5);
+            sampleEntity.setId(documentId2);
+            indexQuery.setId(documentId2);
+            elasticsearchTemplate.index(indexQuery);
+            elasticsearchTemplate.refresh(SampleEntity.class, true);
+            //then
+            assertThat(second.getTotalElements(), is(equalTo(1L)));
+            assertThat(second.getContent().get(0).getId(), is(equalTo(documentId)));
+            assertThat(second.getContent().get(0).getMessage(), is(equalTo("some message")));
+            assertThat(cachedResults, is(equalTo(1)));
+            assertThat(count, is(equalTo(1L)));
+            assertThat(elasticsearchTemplate.queryForPage(criteriaQuery, SampleEntity.class).getTotalElements(), is(equalTo(2L)));
+            assertThat(elasticsearchTemplate.count(criteriaQuery, SampleEntity.class), is(equalTo(2L)));
+        } finally {
+            elasticsearchTemplate.setQueryResultCache(null);
+        }
+    }
+
+    @Test
+    public void shouldServeDocumentsFromNearCacheUntilWritten() throws InterruptedException {
+        //given
+        DocumentNearCache nearCache = new DocumentNearCache(100, 1024 * 1024, 1);
+        nearCache.setRevalidateByVersion(true);
+        elasticsearchTemplate.setNearCache(nearCache);
+        try {
+            String documentId = randomNumeric(5);
+            SampleEntity sampleEntity = new SampleEntity();
+            sampleEntity.setId(documentId);
+            sampleEntity.setMessage("some message");
+            IndexQuery indexQuery = new IndexQuery();
+            indexQuery.setId(documentId);
+            indexQuery.setObject(sampleEntity);
+            elasticsearchTemplate.index(indexQuery);
+            GetQuery getQuery = new GetQuery();
+            getQuery.setId(documentId);
+            //when
+            SampleEntity first = elasticsearchTemplate.queryForObject(getQuery, SampleEntity.class);
+            Thread.sleep(10);
+            SampleEntity revalidated = elasticsearchTemplate.queryForObject(getQuery, SampleEntity.class);
+            sampleEntity.setMessage("updated message");
+            elasticsearchTemplate.index(indexQuery);
+            SampleEntity updated = elasticsearchTemplate.queryForObject(getQuery, SampleEntity.class);
+            //then
+            assertThat(first.getMessage(), is(equalTo("some message")));
+            assertThat(revalidated.getMessage(), is(equalTo("some message")));
+            assertThat(updated.getMessage(), is(equalTo("updated message")));
+            assertThat(nearCache.size(), is(equalTo(1)));
+            assertThat(nearCache.getSizeInBytes(), is(greaterThan(0L)));
+        } finally {
+            elasticsearchTemplate.setNearCache(null);
+        }
+    }
+
+    @Test
+    public void shouldReturnSameResultsToConcurrentCoalescedReads() throws Exception {
+        //given
+        Client requestCountingClient = delayingClient();
+        final ElasticsearchTemplate coalescingTemplate = new ElasticsearchTemplate(requestCountingClient);
+        coalescingTemplate.setCoalesceReads(true);
+        String documentId = randomNumeric(5);
+        SampleEntity sampleEntity = new SampleEntity();
+        sampleEntity.setId(documentId);
+        sampleEntity.setMessage("some message");
+        IndexQuery indexQuery = new IndexQuery();
+        indexQuery.setId(documentId);
+        indexQuery.setObject(sampleEntity);
+        elasticsearchTemplate.index(indexQuery);
+        elasticsearchTemplate.refresh(SampleEntity.class, true);
+        final GetQuery getQuery = new GetQuery();
+        getQuery.setId(documentId);
+        final CriteriaQuery criteriaQuery = new CriteriaQuery(new Criteria("message").contains("some"));
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<SampleEntity>> gets = new ArrayList<Future<SampleEntity>>();
+        List<Future<Page<SampleEntity>>> pages = new ArrayList<Future<Page<SampleEntity>>>();
+        //when
+        for (int i = 0; i < 8; i++) {
+            gets.add(executor.submit(new Callable<SampleEntity>() {
+                @Override
+                public SampleEntity call() throws Exception {
+                    start.await();
+                    return coalescingTemplate.queryForObject(getQuery, SampleEntity.class);
+                }
+            }));
+            pages.add(executor.submit(new Callable<Page<SampleEntity>>() {
+                @Override
+                public Page<SampleEntity> call() throws Exception {
+                    start.await();
+                    return coalescingTemplate.queryForPage(criteriaQuery, SampleEntity.class);
+                }
+            }));
+        }
+        start.countDown();
+        executor.shutdown();
+        //then
+        for (Future<SampleEntity> get : gets) {
+            assertThat(get.get().getId(), is(equalTo(documentId)));
+        }
+        for (Future<Page<SampleEntity>> page : pages) {
+            assertThat(page.get().getTotalElements(), is(equalTo(1L)));
+        }
+        verify(requestCountingClient, times(1)).get(Mockito.any(GetRequest.class), Mockito.any(ActionListener.class));
+        verify(requestCountingClient, times(1)).search(Mockito.any(SearchRequest.class), Mockito.any(ActionListener.class));
+    }
+
+    @Test
+    public void shouldNotJoinCoalescedReadStartedBeforeWrite() throws Exception {
+        //given
+        Client requestCountingClient = delayingClient();
+        final ElasticsearchTemplate coalescingTemplate = new ElasticsearchTemplate(requestCountingClient);
+        coalescingTemplate.setCoalesceReads(true);
+        String documentId = randomNumeric(5);
+        SampleEntity sampleEntity = new SampleEntity();
+        sampleEntity.setId(documentId);
+        sampleEntity.setMessage("some message");
+        IndexQuery indexQuery = new IndexQuery();
+        indexQuery.setId(documentId);
+        indexQuery.setObject(sampleEntity);
+        final GetQuery getQuery = new GetQuery();
+        getQuery.setId(documentId);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<SampleEntity> readBeforeWrite = executor.submit(new Callable<SampleEntity>() {
+            @Override
+            public SampleEntity call() throws Exception {
+                return coalescingTemplate.queryForObject(getQuery, SampleEntity.class);
+            }
+        });
+        executor.shutdown();
+        Thread.sleep(100);
+        //when
+        coalescingTemplate.index(indexQuery);
+        SampleEntity readAfterWrite = coalescingTemplate.queryForObject(getQuery, SampleEntity.class);
+        //then
+        readBeforeWrite.get();
+        assertThat(readAfterWrite, is(notNullValue()));
+        assertThat(readAfterWrite.getId(), is(equalTo(documentId)));
+        verify(requestCountingClient, times(2)).get(Mockito.any(GetRequest.class), Mockito.any(ActionListener.class));
+    }
+
+    /**
+     * Client holding back get and search requests long enough for concurrent reads to coalesce
+     */
+    @SuppressWarnings("unchecked")
+    private Client delayingClient() {
+        Client delayingClient = spy(client);
+        Answer<Object> delayed = new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                Thread.sleep(500);
+                return invocation.callRealMethod();
+            }
+        };
+        doAnswer(delayed).when(delayingClient).get(Mockito.any(GetRequest.class), Mockito.any(ActionListener.class));
+        doAnswer(delayed).when(delayingClient).search(Mockito.any(SearchRequest.class), Mockito.any(ActionListener.class));
+        return delayingClient;
+    }
+
     @Test
     public void shouldReturnObjectForGivenId(){
         //given
@@ -333,6 +759,510 @@ public class ElasticsearchTemplateTest {
         assertThat(sampleEntity1, is(notNullValue()));
     }
 
+    @Test
+    public void shouldStreamAllDocumentsUsingScanAndScroll(){
+        //given
+        List<IndexQuery> indexQueries = new ArrayList<IndexQuery>();
+        for(int i = 0; i < 30; i++){
+            String documentId = String.valueOf(i);
+            SampleEntity sampleEntity = new SampleEntity();
+            sampleEntity.setId(documentId);
+            sampleEntity.setMessage("some message");
+            IndexQuery indexQuery = new IndexQuery();
+            indexQuery.setId(documentId);
+            indexQuery.setObject(sampleEntity);
+            indexQueries.add(indexQuery);
+        }
+        elasticsearchTemplate.bulkIndex(indexQueries);
+        elasticsearchTemplate.refresh(SampleEntity.class, true);
+        SearchQuery searchQuery = new SearchQuery();
+        searchQuery.setElasticsearchQuery(matchAllQuery());
+        searchQuery.setPageable(new PageRequest(0, 2));
+        //when
+        CloseableIterator<SampleEntity> stream = elasticsearchTemplate.stream(searchQuery, SampleEntity.class);
+        List<SampleEntity> sampleEntities = new ArrayList<SampleEntity>();
+        while (stream.hasNext()){
+            sampleEntities.add(stream.next());
+        }
+        stream.close();
+        //then
+        assertThat(sampleEntities.size(), is(equalTo(30)));
+    }
+
+    @Test
+    public void shouldScrollPagesUsingScanAndScroll(){
+        //given
+        List<IndexQuery> indexQueries = new ArrayList<IndexQuery>();
+        for(int i = 0; i < 30; i++){
+            String documentId = String.valueOf(i);
+            SampleEntity sampleEntity = new SampleEntity();
+            sampleEntity.setId(documentId);
+            sampleEntity.setMessage("some message");
+            IndexQuery indexQuery = new IndexQuery();
+            indexQuery.setId(documentId);
+            indexQuery.setObject(sampleEntity);
+            indexQueries.add(indexQuery);
+        }
+        elasticsearchTemplate.bulkIndex(indexQueries);
+        elasticsearchTemplate.refresh(SampleEntity.class, true);
+        SearchQuery searchQuery = new SearchQuery();
+        searchQuery.setElasticsearchQuery(matchAllQuery());
+        searchQuery.setPageable(new PageRequest(0, 2));
+        //when
+        String scrollId = elasticsearchTemplate.scan(searchQuery, 1000, SampleEntity.class);
+        long total = 0;
+        boolean hasRecords = true;
+        while (hasRecords){
+            ScrolledPage<SampleEntity> page = elasticsearchTemplate.scroll(scrollId, 1000, SampleEntity.class);
+            assertThat(page.getScrollId(), is(notNullValue()));
+            scrollId = page.getScrollId();
+            total += page.getNumberOfElements();
+            hasRecords = page.hasContent();
+        }
+        //then
+        assertThat(total, is(equalTo(30L)));
+    }
+
+    @Test
+    public void shouldIndexDocumentsUsingBulkProcessor(){
+        //given
+        BulkOptions options = new BulkOptions();
+        options.setBulkActions(5);
+        options.setConcurrentRequests(2);
+        final List<String> failedDocuments = new ArrayList<String>();
+        ElasticsearchBulkProcessor bulkProcessor = elasticsearchTemplate.bulkProcessor(options, new BulkFailureListener() {
+            @Override
+            public void onFailure(String documentId, String failureMessage) {
+                failedDocuments.add(documentId);
+            }
+        });
+        //when
+        for(int i = 0; i < 23; i++){
+            String documentId = String.valueOf(i);
+            SampleEntity sampleEntity = new SampleEntity();
+            sampleEntity.setId(documentId);
+            sampleEntity.setMessage("some message");
+            IndexQuery indexQuery = new IndexQuery();
+            indexQuery.setId(documentId);
+            indexQuery.setObject(sampleEntity);
+            bulkProcessor.index(indexQuery);
+        }
+        bulkProcessor.delete(SampleEntity.class, "0");
+        bulkProcessor.close();
+        elasticsearchTemplate.refresh(SampleEntity.class, true);
+        //then
+        SearchQuery searchQuery = new SearchQuery();
+        searchQuery.setElasticsearchQuery(matchAllQuery());
+        assertThat(elasticsearchTemplate.count(searchQuery, SampleEntity.class), is(equalTo(22L)));
+        assertThat(failedDocuments.isEmpty(), is(true));
+    }
 
+    @Test
+    public void shouldIndexAndSearchAsynchronously() throws Exception{
+        //given
+        String documentId = randomNumeric(5);
+        SampleEntity sampleEntity = new SampleEntity();
+        sampleEntity.setId(documentId);
+        sampleEntity.setMessage("some message");
+        IndexQuery indexQuery = new IndexQuery();
+        indexQuery.setId(documentId);
+        indexQuery.setObject(sampleEntity);
+        //when
+        Future<String> indexed = elasticsearchTemplate.indexAsync(indexQuery);
+        assertThat(indexed.get(), is(equalTo(documentId)));
+        elasticsearchTemplate.refresh(SampleEntity.class, true);
+        SearchQuery searchQuery = new SearchQuery();
+        searchQuery.setElasticsearchQuery(fieldQuery("id", documentId));
+        GetQuery getQuery = new GetQuery();
+        getQuery.setId(documentId);
+        Future<Page<SampleEntity>> page = elasticsearchTemplate.queryForPageAsync(searchQuery, SampleEntity.class);
+        Future<Long> count = elasticsearchTemplate.countAsync(searchQuery, SampleEntity.class);
+        Future<SampleEntity> entity = elasticsearchTemplate.queryForObjectAsync(getQuery, SampleEntity.class);
+        //then
+        assertThat(page.get().getTotalElements(), is(equalTo(1L)));
+        assertThat(count.get(), is(equalTo(1L)));
+        assertThat(entity.get(), is(equalTo(sampleEntity)));
+    }
+
+    @Test
+    public void shouldUseSearchTypeOfQuery(){
+        //given
+        String documentId = randomNumeric(5);
+        SampleEntity sampleEntity = new SampleEntity();
+        sampleEntity.setId(documentId);
+        sampleEntity.setMessage("some message");
+        IndexQuery indexQuery = new IndexQuery();
+        indexQuery.setId(documentId);
+        indexQuery.setObject(sampleEntity);
+        elasticsearchTemplate.index(indexQuery);
+        elasticsearchTemplate.refresh(SampleEntity.class, true);
+        SearchQuery searchQuery = new SearchQuery();
+        searchQuery.setElasticsearchQuery(matchAllQuery());
+        searchQuery.setSearchType(SearchType.COUNT);
+        //when
+        Page<SampleEntity> sampleEntities = elasticsearchTemplate.queryForPage(searchQuery, SampleEntity.class);
+        //then
+        assertThat(sampleEntities.getTotalElements(), is(equalTo(1L)));
+        assertThat(sampleEntities.getNumberOfElements(), is(equalTo(0)));
+    }
+
+    @Test
+    public void shouldReturnObjectsForGivenIdsUsingMultiGet(){
+        //given
+        List<IndexQuery> indexQueries = new ArrayList<IndexQuery>();
+        List<String> ids = new ArrayList<String>();
+        for(int i = 0; i < 25; i++){
+            String documentId = String.valueOf(i);
+            SampleEntity sampleEntity = new SampleEntity();
+            sampleEntity.setId(documentId);
+            sampleEntity.setMessage("some message");
+            IndexQuery indexQuery = new IndexQuery();
+            indexQuery.setId(documentId);
+            indexQuery.setObject(sampleEntity);
+            indexQueries.add(indexQuery);
+            ids.add(0, documentId);
+        }
+        elasticsearchTemplate.bulkIndex(indexQueries);
+        ids.add("missing");
+        elasticsearchTemplate.setMultiGetBatchSize(10);
+        //when
+        List<SampleEntity> sampleEntities = elasticsearchTemplate.multiGet(ids, SampleEntity.class);
+        elasticsearchTemplate.setMultiGetBatchSize(1000);
+        //then
+        assertThat(sampleEntities.size(), is(equalTo(25)));
+        assertThat(sampleEntities.get(0).getId(), is(equalTo("24")));
+        assertThat(sampleEntities.get(24).getId(), is(equalTo("0")));
+    }
+
+    @Test
+    public void shouldExecuteQueriesInSingleMultiSearch(){
+        //given
+        String documentId = randomNumeric(5);
+        SampleEntity sampleEntity = new SampleEntity();
+        sampleEntity.setId(documentId);
+        sampleEntity.setMessage("some message");
+
+        IndexQuery indexQuery = new IndexQuery();
+        indexQuery.setId(documentId);
+        indexQuery.setObject(sampleEntity);
+        elasticsearchTemplate.index(indexQuery);
+        elasticsearchTemplate.refresh(SampleEntity.class, true);
+
+        SearchQuery searchQuery = new SearchQuery();
+        searchQuery.setElasticsearchQuery(matchAllQuery());
+        CriteriaQuery criteriaQuery = new CriteriaQuery(new Criteria("message").contains("some"));
+        StringQuery stringQuery = new StringQuery(fieldQuery("id", "unknown").toString());
+        MultiSearchQuery multiSearchQuery = new MultiSearchQuery()
+                .add(searchQuery, SampleEntity.class)
+                .add(criteriaQuery, SampleEntity.class)
+                .add(stringQuery, SampleEntity.class);
+        //when
+        List<Page<?>> pages = elasticsearchTemplate.multiSearch(multiSearchQuery);
+        //then
+        assertThat(pages.size(), is(equalTo(3)));
+        assertThat(pages.get(0).getTotalElements(), is(equalTo(1L)));
+        assertThat(pages.get(1).getTotalElements(), is(equalTo(1L)));
+        assertThat(((SampleEntity) pages.get(1).getContent().get(0)).getId(), is(equalTo(documentId)));
+        assertThat(pages.get(2).getTotalElements(), is(equalTo(0L)));
+    }
+
+    @Test
+    public void shouldMakeDocumentsSearchableWithCoalescedRefresh() throws InterruptedException {
+        //given
+        ElasticsearchTemplate refreshCountingTemplate = spy(elasticsearchTemplate);
+        CoalescingRefresher refresher = new CoalescingRefresher(refreshCountingTemplate, 500);
+        List<IndexQuery> indexQueries = new ArrayList<IndexQuery>();
+        for (int i = 0; i < 3; i++) {
+            String documentId = randomNumeric(5);
+            SampleEntity sampleEntity = new SampleEntity();
+            sampleEntity.setId(documentId);
+            sampleEntity.setMessage("some message");
+            IndexQuery indexQuery = new IndexQuery();
+            indexQuery.setId(documentId);
+            indexQuery.setObject(sampleEntity);
+            indexQueries.add(indexQuery);
+        }
+        SearchQuery searchQuery = new SearchQuery();
+        searchQuery.setElasticsearchQuery(matchAllQuery());
+        //when
+        for (IndexQuery indexQuery : indexQueries) {
+            elasticsearchTemplate.index(indexQuery);
+            refresher.requestRefresh("test-index");
+        }
+        long count = 0;
+        for (int attempt = 0; attempt < 50 && count < 3; attempt++) {
+            Thread.sleep(100);
+            count = elasticsearchTemplate.count(searchQuery, SampleEntity.class);
+        }
+        refresher.shutdown();
+        //then
+        assertThat(count, is(equalTo(3L)));
+        verify(refreshCountingTemplate, times(1)).refresh("test-index", false);
+    }
+
+    @Test
+    public void shouldDeleteDocumentsInBulk(){
+        //given
+        List<IndexQuery> indexQueries = new ArrayList<IndexQuery>();
+        List<String> ids = new ArrayList<String>();
+        for (int i = 0; i < 10; i++) {
+            String documentId = String.valueOf(i);
+            SampleEntity sampleEntity = new SampleEntity();
+            sampleEntity.setId(documentId);
+            sampleEntity.setMessage("some message");
+            IndexQuery indexQuery = new IndexQuery();
+            indexQuery.setId(documentId);
+            indexQuery.setObject(sampleEntity);
+            indexQueries.add(indexQuery);
+            if (i % 2 == 0) {
+                ids.add(documentId);
+            }
+        }
+        elasticsearchTemplate.bulkIndex(indexQueries);
+        //when
+        elasticsearchTemplate.bulkDelete(SampleEntity.class, ids);
+        elasticsearchTemplate.refresh(SampleEntity.class, true);
+        //then
+        SearchQuery searchQuery = new SearchQuery();
+        searchQuery.setElasticsearchQuery(matchAllQuery());
+        assertThat(elasticsearchTemplate.count(searchQuery, SampleEntity.class), is(equalTo(5L)));
+        assertThat(elasticsearchTemplate.multiGet(ids, SampleEntity.class).size(), is(equalTo(0)));
+    }
+
+    @Test
+    public void shouldRestrictCriteriaQueryWithFilterCriteria(){
+        //given
+        List<IndexQuery> indexQueries = new ArrayList<IndexQuery>();
+        for (int i = 1; i <= 6; i++) {
+            String documentId = String.valueOf(i);
+            SampleEntity sampleEntity = new SampleEntity();
+            sampleEntity.setId(documentId);
+            sampleEntity.setMessage(i % 2 == 0 ? "even" : "odd");
+            sampleEntity.setRate(i);
+            IndexQuery indexQuery = new IndexQuery();
+            indexQuery.setId(documentId);
+            indexQuery.setObject(sampleEntity);
+            indexQueries.add(indexQuery);
+        }
+        elasticsearchTemplate.bulkIndex(indexQueries);
+        elasticsearchTemplate.refresh(SampleEntity.class, true);
+        CriteriaQuery criteriaQuery = new CriteriaQuery(new Criteria("message").is("even"));
+        criteriaQuery.addFilterCriteria(new Criteria("rate").between(2, 5));
+        criteriaQuery.addFilterCriteria(new Criteria("id").in("2", "4", "6"));
+        //when
+        Page<SampleEntity> page = elasticsearchTemplate.queryForPage(criteriaQuery, SampleEntity.class);
+        //then
+        assertThat(page.getTotalElements(), is(equalTo(2L)));
+        List<String> ids = new ArrayList<String>();
+        for (SampleEntity entity : page) {
+            ids.add(entity.getId());
+        }
+        assertThat(ids, containsInAnyOrder("2", "4"));
+    }
+
+    @Test
+    public void shouldMatchSameDocumentsWithOrChainAsFilterAndAsQuery(){
+        //given
+        List<IndexQuery> indexQueries = new ArrayList<IndexQuery>();
+        for (int i = 1; i <= 6; i++) {
+            String documentId = String.valueOf(i);
+            SampleEntity sampleEntity = new SampleEntity();
+            sampleEntity.setId(documentId);
+            sampleEntity.setMessage("some message");
+            sampleEntity.setRate(i);
+            IndexQuery indexQuery = new IndexQuery();
+            indexQuery.setId(documentId);
+            indexQuery.setObject(sampleEntity);
+            indexQueries.add(indexQuery);
+        }
+        elasticsearchTemplate.bulkIndex(indexQueries);
+        elasticsearchTemplate.refresh(SampleEntity.class, true);
+        CriteriaQuery query = new CriteriaQuery(new Criteria("rate").between(2, 4).or("id").is("6"));
+        CriteriaQuery filteredQuery = new CriteriaQuery(new Criteria("rate").between(1, 6));
+        filteredQuery.addFilterCriteria(new Criteria("rate").between(2, 4).or("id").is("6"));
+        //when
+        List<String> queryIds = elasticsearchTemplate.queryForIds(query, SampleEntity.class);
+        List<String> filterIds = elasticsearchTemplate.queryForIds(filteredQuery, SampleEntity.class);
+        //then
+        assertThat(queryIds, containsInAnyOrder("2", "3", "4"));
+        assertThat(filterIds, containsInAnyOrder("2", "3", "4"));
+    }
+
+    @Test
+    public void shouldMatchSameDocumentsWithEqualityOnAnalyzedFieldAsFilterAndAsQuery(){
+        //given
+        String documentId = randomNumeric(5);
+        SampleEntity sampleEntity = new SampleEntity();
+        sampleEntity.setId(documentId);
+        sampleEntity.setMessage("Foo Bar");
+        IndexQuery indexQuery = new IndexQuery();
+        indexQuery.setId(documentId);
+        indexQuery.setObject(sampleEntity);
+        elasticsearchTemplate.index(indexQuery);
+        elasticsearchTemplate.refresh(SampleEntity.class, true);
+        CriteriaQuery query = new CriteriaQuery(new Criteria("message").is("Foo Bar"));
+        CriteriaQuery filteredQuery = new CriteriaQuery(new Criteria("id").is(documentId));
+        filteredQuery.addFilterCriteria(new Criteria("message").is("Foo Bar"));
+        //when
+        List<String> queryIds = elasticsearchTemplate.queryForIds(query, SampleEntity.class);
+        List<String> filterIds = elasticsearchTemplate.queryForIds(filteredQuery, SampleEntity.class);
+        //then
+        assertThat(queryIds, is(equalTo(Arrays.asList(documentId))));
+        assertThat(filterIds, is(equalTo(Arrays.asList(documentId))));
+    }
+
+    @Test
+    public void shouldMatchInValuesAsUnanalyzedTermsOnAnalyzedField(){
+        //given
+        String documentId = randomNumeric(5);
+        SampleEntity sampleEntity = new SampleEntity();
+        sampleEntity.setId(documentId);
+        sampleEntity.setMessage("Foo Bar");
+        IndexQuery indexQuery = new IndexQuery();
+        indexQuery.setId(documentId);
+        indexQuery.setObject(sampleEntity);
+        elasticsearchTemplate.index(indexQuery);
+        elasticsearchTemplate.refresh(SampleEntity.class, true);
+        CriteriaQuery fullValueQuery = new CriteriaQuery(new Criteria("message").in("Foo Bar"));
+        CriteriaQuery tokenQuery = new CriteriaQuery(new Criteria("message").in("foo", "baz"));
+        CriteriaQuery tokenFilteredQuery = new CriteriaQuery(new Criteria("id").is(documentId));
+        tokenFilteredQuery.addFilterCriteria(new Criteria("message").in("foo", "baz"));
+        //when
+        List<String> fullValueIds = elasticsearchTemplate.queryForIds(fullValueQuery, SampleEntity.class);
+        List<String> tokenIds = elasticsearchTemplate.queryForIds(tokenQuery, SampleEntity.class);
+        List<String> tokenFilterIds = elasticsearchTemplate.queryForIds(tokenFilteredQuery, SampleEntity.class);
+        //then
+        assertThat(fullValueIds, is(empty()));
+        assertThat(tokenIds, is(equalTo(Arrays.asList(documentId))));
+        assertThat(tokenFilterIds, is(equalTo(Arrays.asList(documentId))));
+    }
+
+    @Test
+    public void shouldReturnOnlyRequestedFields(){
+        //given
+        String documentId = randomNumeric(5);
+        SampleEntity sampleEntity = new SampleEntity();
+        sampleEntity.setId(documentId);
+        sampleEntity.setMessage("some message");
+        sampleEntity.setType("some type");
+        sampleEntity.setRate(10);
+
+        IndexQuery indexQuery = new IndexQuery();
+        indexQuery.setId(documentId);
+        indexQuery.setObject(sampleEntity);
+        elasticsearchTemplate.index(indexQuery);
+        elasticsearchTemplate.refresh(SampleEntity.class, true);
+
+        SearchQuery searchQuery = new SearchQuery();
+        searchQuery.setElasticsearchQuery(fieldQuery("id", documentId));
+        searchQuery.addFields("id", "message");
+        //when
+        Page<SampleEntity> page = elasticsearchTemplate.queryForPage(searchQuery, SampleEntity.class);
+        //then
+        assertThat(page.getTotalElements(), is(equalTo(1L)));
+        SampleEntity result = page.getContent().get(0);
+        assertThat(result.getId(), is(equalTo(documentId)));
+        assertThat(result.getMessage(), is(equalTo("some message")));
+        assertThat(result.getType(), is(nullValue()));
+        assertThat(result.getRate(), is(equalTo(0)));
+    }
+
+    @Test
+    public void shouldReturnIdsWithoutMappingDocuments(){
+        //given
+        List<IndexQuery> indexQueries = new ArrayList<IndexQuery>();
+        List<String> expectedIds = new ArrayList<String>();
+        for (int i = 0; i < 30; i++) {
+            String documentId = String.valueOf(i);
+            SampleEntity sampleEntity = new SampleEntity();
+            sampleEntity.setId(documentId);
+            sampleEntity.setMessage("some message");
+            IndexQuery indexQuery = new IndexQuery();
+            indexQuery.setId(documentId);
+            indexQuery.setObject(sampleEntity);
+            indexQueries.add(indexQuery);
+            expectedIds.add(documentId);
+        }
+        elasticsearchTemplate.bulkIndex(indexQueries);
+        elasticsearchTemplate.refresh(SampleEntity.class, true);
+        SearchQuery searchQuery = new SearchQuery();
+        searchQuery.setElasticsearchQuery(matchAllQuery());
+        searchQuery.setPageable(new PageRequest(0, 5));
+        //when
+        List<String> pageOfIds = elasticsearchTemplate.queryForIds(searchQuery, SampleEntity.class);
+        List<String> allIds = new ArrayList<String>();
+        CloseableIterator<String> iterator = elasticsearchTemplate.streamIds(searchQuery, SampleEntity.class);
+        while (iterator.hasNext()) {
+            allIds.add(iterator.next());
+        }
+        //then
+        assertThat(pageOfIds.size(), is(equalTo(5)));
+        assertThat(allIds, containsInAnyOrder(expectedIds.toArray(new String[expectedIds.size()])));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldNotFetchRequestedFieldsWhenOnlyReturningIds(){
+        //given
+        Client requestCapturingClient = spy(client);
+        ElasticsearchTemplate idsTemplate = new ElasticsearchTemplate(requestCapturingClient);
+        String documentId = randomNumeric(5);
+        SampleEntity sampleEntity = new SampleEntity();
+        sampleEntity.setId(documentId);
+        sampleEntity.setMessage("some message");
+        IndexQuery indexQuery = new IndexQuery();
+        indexQuery.setId(documentId);
+        indexQuery.setObject(sampleEntity);
+        elasticsearchTemplate.index(indexQuery);
+        elasticsearchTemplate.refresh(SampleEntity.class, true);
+        SearchQuery searchQuery = new SearchQuery();
+        searchQuery.setElasticsearchQuery(matchAllQuery());
+        searchQuery.addFields("message");
+        //when
+        List<String> ids = idsTemplate.queryForIds(searchQuery, SampleEntity.class);
+        CloseableIterator<String> iterator = idsTemplate.streamIds(searchQuery, SampleEntity.class);
+        List<String> streamedIds = new ArrayList<String>();
+        while (iterator.hasNext()) {
+            streamedIds.add(iterator.next());
+        }
+        idsTemplate.queryForPage(searchQuery, SampleEntity.class);
+        //then
+        assertThat(ids, is(equalTo(Arrays.asList(documentId))));
+        assertThat(streamedIds, is(equalTo(Arrays.asList(documentId))));
+        ArgumentCaptor<SearchRequest> requests = ArgumentCaptor.forClass(SearchRequest.class);
+        verify(requestCapturingClient, times(3)).search(requests.capture(), Mockito.any(ActionListener.class));
+        assertThat(requestSource(requests.getAllValues().get(0)), not(containsString("partial_fields")));
+        assertThat(requestSource(requests.getAllValues().get(1)), not(containsString("partial_fields")));
+        assertThat(requestSource(requests.getAllValues().get(2)), containsString("partial_fields"));
+    }
+
+    private static String requestSource(SearchRequest request) {
+        return new String(request.source().toBytes(), Charset.forName("ISO-8859-1"));
+    }
+
+    @Test
+    public void shouldCheckExistenceWithoutLoadingDocuments(){
+        //given
+        List<IndexQuery> indexQueries = new ArrayList<IndexQuery>();
+        for (int i = 0; i < 3; i++) {
+            String documentId = String.valueOf(i);
+            SampleEntity sampleEntity = new SampleEntity();
+            sampleEntity.setId(documentId);
+            sampleEntity.setMessage("some message");
+            IndexQuery indexQuery = new IndexQuery();
+            indexQuery.setId(documentId);
+            indexQuery.setObject(sampleEntity);
+            indexQueries.add(indexQuery);
+        }
+        elasticsearchTemplate.bulkIndex(indexQueries);
+        //when
+        boolean exists = elasticsearchTemplate.exists(SampleEntity.class, "1");
+        boolean missing = elasticsearchTemplate.exists(SampleEntity.class, "missing");
+        Set<String> existingIds = elasticsearchTemplate.existsAll(SampleEntity.class, Arrays.asList("2", "missing", "0"));
+        //then
+        assertThat(exists, is(true));
+        assertThat(missing, is(false));
+        assertThat(existingIds, contains("2", "0"));
+    }
 
 }
@@ -627,4 +627,35 @@ public class CriteriaQueryTest {
         //then
         assertThat(page.getTotalElements(),is(greaterThanOrEqualTo(1L)));
     }
+
+    @Test
+    public void shouldMergeRangesAndIgnoreDuplicateAndNullCriteria(){
+        //given
+        List<IndexQuery> indexQueries = new ArrayList<IndexQuery>();
+        for (int rate = 1001; rate <= 1003; rate++) {
+            String documentId = randomNumeric(5);
+            SampleEntity sampleEntity = new SampleEntity();
+            sampleEntity.setId(documentId);
+            sampleEntity.setRate(rate);
+            sampleEntity.setMessage("optimizer");
+            IndexQuery indexQuery = new IndexQuery();
+            indexQuery.setId(documentId);
+            indexQuery.setObject(sampleEntity);
+            indexQueries.add(indexQuery);
+        }
+        elasticsearchTemplate.bulkIndex(indexQueries);
+        elasticsearchTemplate.refresh(SampleEntity.class,true);
+        CriteriaQuery criteriaQuery = new CriteriaQuery(new Criteria("message").is("optimizer")
+                .and("rate").greaterThanEqual(1002)
+                .and("rate").lessThanEqual(1003)
+                .and("message").is("optimizer")
+                .and("type").is(null));
+        //when
+        Page<SampleEntity> page = elasticsearchTemplate.queryForPage(criteriaQuery, SampleEntity.class);
+        //then
+        assertThat(page.getTotalElements(), is(equalTo(2L)));
+        for (SampleEntity entity : page) {
+            assertThat(entity.getRate(), is(greaterThanOrEqualTo(1002)));
+        }
+    }
 }
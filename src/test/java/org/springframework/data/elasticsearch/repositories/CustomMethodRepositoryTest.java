@@ -10,6 +10,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.elasticsearch.SampleEntity;
 import org.springframework.data.elasticsearch.core.ElasticsearchTemplate;
+import org.springframework.data.elasticsearch.core.SliceList;
 import org.springframework.data.elasticsearch.core.query.DeleteQuery;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
@@ -254,6 +255,30 @@ public class CustomMethodRepositoryTest {
         assertThat(page.getTotalElements(), is(equalTo(2L)));
     }
 
+    @Test
+    public void shouldExecuteCustomMethodForInWithMoreValuesThanBooleanClauseLimit(){
+        //given
+        String documentId = randomNumeric(5);
+        SampleEntity sampleEntity = new SampleEntity();
+        sampleEntity.setId(documentId);
+        sampleEntity.setType("test");
+        sampleEntity.setMessage("foo");
+        repository.save(sampleEntity);
+
+        List<String> ids = new ArrayList<String>();
+        ids.add(documentId);
+        for (int i = 0; i < 2000; i++) {
+            ids.add("unknown" + i);
+        }
+
+        //when
+        Page<SampleEntity> page = repository.findByIdIn(ids, new PageRequest(1, 10));
+        //then
+        assertThat(page, is(notNullValue()));
+        assertThat(page.getTotalElements(), is(equalTo(1L)));
+        assertThat(page.getContent().get(0).getId(), is(documentId));
+    }
+
     @Test
     public void shouldExecuteCustomMethodForNotIn(){
         //given
@@ -396,4 +421,189 @@ public class CustomMethodRepositoryTest {
         assertThat(page.getTotalElements(), is(equalTo(1L)));
     }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectNullBoundInsideJsonStringOfQuery(){
+        //when
+        repository.findByMessage(null, new PageRequest(0, 10));
+    }
+
+    @Test
+    public void shouldExecuteCustomMethodWithSearchType(){
+        //given
+        String documentId = randomNumeric(5);
+        SampleEntity sampleEntity = new SampleEntity();
+        sampleEntity.setId(documentId);
+        sampleEntity.setType("test");
+        sampleEntity.setRate(7);
+        sampleEntity.setMessage("some message");
+        repository.save(sampleEntity);
+        //when
+        Page<SampleEntity> page = repository.findByRate(7, new PageRequest(0, 10));
+        //then
+        assertThat(page.getTotalElements(), is(equalTo(1L)));
+        assertThat(page.hasContent(), is(false));
+    }
+
+    @Test
+    public void shouldBindNewValuesOnEveryInvocationOfDerivedMethod(){
+        //given
+        String documentId = randomNumeric(5);
+        SampleEntity sampleEntity = new SampleEntity();
+        sampleEntity.setId(documentId);
+        sampleEntity.setType("template-one");
+        sampleEntity.setMessage("foo");
+        repository.save(sampleEntity);
+
+        String documentId2 = randomNumeric(5);
+        SampleEntity sampleEntity2 = new SampleEntity();
+        sampleEntity2.setId(documentId2);
+        sampleEntity2.setType("template-one");
+        sampleEntity2.setMessage("bar");
+        repository.save(sampleEntity2);
+
+        //when
+        Page<SampleEntity> first = repository.findByIdIn(Arrays.asList(documentId), new PageRequest(1, 10));
+        Page<SampleEntity> second = repository.findByIdIn(Arrays.asList(documentId2), new PageRequest(1, 10));
+        //then
+        assertThat(first.getTotalElements(), is(equalTo(1L)));
+        assertThat(first.getContent().get(0).getId(), is(documentId));
+        assertThat(second.getTotalElements(), is(equalTo(1L)));
+        assertThat(second.getContent().get(0).getId(), is(documentId2));
+    }
+
+    @Test
+    public void shouldBindNumberAndBooleanParametersOfAnnotatedQuery(){
+        //given
+        String documentId = randomNumeric(5);
+        SampleEntity sampleEntity = new SampleEntity();
+        sampleEntity.setId(documentId);
+        sampleEntity.setType("test");
+        sampleEntity.setMessage("foo");
+        sampleEntity.setRate(4711);
+        sampleEntity.setAvailable(true);
+        repository.save(sampleEntity);
+
+        //when
+        Page<SampleEntity> page = repository.searchByRateAndAvailable(4711, true, new PageRequest(1, 10));
+        //then
+        assertThat(page.getTotalElements(), is(equalTo(1L)));
+        assertThat(page.getContent().get(0).getId(), is(documentId));
+    }
+
+    @Test
+    public void shouldEscapeStringParametersOfAnnotatedQuery(){
+        //given
+        String documentId = randomNumeric(5);
+        SampleEntity sampleEntity = new SampleEntity();
+        sampleEntity.setId(documentId);
+        sampleEntity.setType("test");
+        sampleEntity.setMessage("escaping works");
+        repository.save(sampleEntity);
+
+        //when
+        Page<SampleEntity> page = repository.searchByMessagePhrase("\"escaping\" works", new PageRequest(1, 10));
+        //then
+        assertThat(page.getTotalElements(), is(equalTo(1L)));
+        assertThat(page.getContent().get(0).getId(), is(documentId));
+    }
+
+    @Test
+    public void shouldReturnAllIdsForIdsQueryMethod(){
+        //given
+        List<String> expectedIds = new ArrayList<String>();
+        for (int i = 0; i < 15; i++) {
+            String documentId = randomNumeric(5);
+            SampleEntity sampleEntity = new SampleEntity();
+            sampleEntity.setId(documentId);
+            sampleEntity.setType("idsonly");
+            sampleEntity.setMessage("foo");
+            repository.save(sampleEntity);
+            expectedIds.add(documentId);
+        }
+
+        //when
+        List<String> ids = repository.findIdsByType("idsonly");
+        //then
+        assertThat(ids, containsInAnyOrder(expectedIds.toArray(new String[expectedIds.size()])));
+    }
+
+    @Test
+    public void shouldCountAndCheckExistenceForDerivedQueryMethods(){
+        //given
+        String type = "counted" + randomNumeric(5);
+        for (int i = 0; i < 3; i++) {
+            SampleEntity sampleEntity = new SampleEntity();
+            sampleEntity.setId(randomNumeric(5));
+            sampleEntity.setType(type);
+            sampleEntity.setMessage("foo");
+            repository.save(sampleEntity);
+        }
+        //when
+        long count = repository.countByType(type);
+        //then
+        assertThat(count, is(equalTo(3L)));
+        assertThat(repository.existsByType(type), is(true));
+        assertThat(repository.existsByType("missing" + randomNumeric(5)), is(false));
+    }
+
+    @Test
+    public void shouldCountForAnnotatedQueryMethod(){
+        //given
+        String type = "counted" + randomNumeric(5);
+        for (int i = 0; i < 2; i++) {
+            SampleEntity sampleEntity = new SampleEntity();
+            sampleEntity.setId(randomNumeric(5));
+            sampleEntity.setType(type);
+            sampleEntity.setMessage("foo");
+            repository.save(sampleEntity);
+        }
+        //when
+        long count = repository.countByTypeWithQuery(type);
+        //then
+        assertThat(count, is(equalTo(2L)));
+    }
+
+    @Test
+    public void shouldReturnListWithoutTotalsForQueryMethod(){
+        //given
+        String type = "listed" + randomNumeric(5);
+        for (int i = 0; i < 3; i++) {
+            SampleEntity sampleEntity = new SampleEntity();
+            sampleEntity.setId(randomNumeric(5));
+            sampleEntity.setType(type);
+            sampleEntity.setMessage("foo");
+            repository.save(sampleEntity);
+        }
+        //when
+        SliceList<SampleEntity> entities = repository.readByType(type, new PageRequest(0, 2));
+        SliceList<SampleEntity> nextEntities = repository.readByType(type, entities.nextPageable());
+        //then
+        assertThat(entities.size(), is(equalTo(2)));
+        assertThat(entities.get(0).getType(), is(equalTo(type)));
+        assertThat(entities.hasNext(), is(true));
+        assertThat(nextEntities.size(), is(equalTo(1)));
+        assertThat(nextEntities.hasNext(), is(false));
+    }
+
+    @Test
+    public void shouldReturnAllMatchingEntitiesFromListMethodsWithoutPageable(){
+        //given
+        String type = "list" + randomNumeric(5);
+        List<SampleEntity> sampleEntities = new ArrayList<SampleEntity>();
+        for (int i = 0; i < 15; i++) {
+            SampleEntity sampleEntity = new SampleEntity();
+            sampleEntity.setId(randomNumeric(5) + i);
+            sampleEntity.setType(type);
+            sampleEntity.setMessage("some message");
+            sampleEntities.add(sampleEntity);
+        }
+        repository.save(sampleEntities);
+        //when
+        List<SampleEntity> entities = repository.readByType(type);
+        List<SampleEntity> entitiesFromQuery = repository.searchByType(type);
+        //then
+        assertThat(entities.size(), is(equalTo(15)));
+        assertThat(entitiesFromQuery.size(), is(equalTo(15)));
+    }
+
 }
@@ -1,24 +1,44 @@
 package org.springframework.data.elasticsearch.repositories;
 
 
+import org.elasticsearch.action.admin.cluster.health.ClusterHealthResponse;
+import org.elasticsearch.client.Client;
+import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.elasticsearch.SampleEntity;
+import org.springframework.data.elasticsearch.core.ElasticsearchTemplate;
+import org.springframework.data.elasticsearch.core.KeysetPage;
+import org.springframework.data.elasticsearch.core.RefreshPolicy;
+import org.springframework.data.elasticsearch.core.query.DeleteQuery;
 import org.springframework.data.elasticsearch.core.query.SearchQuery;
+import org.springframework.data.elasticsearch.repository.support.ElasticsearchRepositoryFactory;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
 import javax.annotation.Resource;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.apache.commons.lang.RandomStringUtils.randomNumeric;
 import static org.elasticsearch.index.query.QueryBuilders.*;
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
 
 @RunWith(SpringJUnit4ClassRunner.class)
 @ContextConfiguration("classpath:/repository-test.xml")
@@ -27,6 +47,34 @@ public class RepositoryTest {
     @Resource
     private SampleElasticsearchRepository repository;
 
+    @Autowired
+    private ElasticsearchTemplate elasticsearchTemplate;
+
+    @Autowired
+    private Client client;
+
+    @Before
+    public void before() throws InterruptedException {
+        elasticsearchTemplate.createIndex(SampleEntity.class);
+        waitForStartedShards();
+        DeleteQuery deleteQuery = new DeleteQuery();
+        deleteQuery.setElasticsearchQuery(matchAllQuery());
+        elasticsearchTemplate.delete(deleteQuery,SampleEntity.class);
+        elasticsearchTemplate.refresh(SampleEntity.class, true);
+    }
+
+    /**
+     * The local nodes of all test contexts join one cluster. Shard copies which are still recovering or relocating
+     * miss refreshes, so the stream and the count could be answered by copies seeing different documents.
+     */
+    private void waitForStartedShards() throws InterruptedException {
+        ClusterHealthResponse health = client.admin().cluster().prepareHealth("test-index")
+                .setWaitForYellowStatus().setWaitForRelocatingShards(0).execute().actionGet();
+        while (health.getInitializingShards() > 0 || health.getRelocatingShards() > 0) {
+            Thread.sleep(50);
+            health = client.admin().cluster().prepareHealth("test-index").execute().actionGet();
+        }
+    }
 
     @Test
     public void shouldDoBulkIndexDocument(){
@@ -147,9 +195,7 @@ public class RepositoryTest {
     }
 
     @Test
-    @Ignore
     public  void testFindAllByIdQuery(){
-        //todo : find solution for findAll(Iterable<Ids> ids)
         //given
         String documentId = randomNumeric(5);
         SampleEntity sampleEntity = new SampleEntity();
@@ -168,6 +214,11 @@ public class RepositoryTest {
 
         //then
         assertNotNull("sample entities cant be null..", sampleEntities);
+        List<SampleEntity> entities = new ArrayList<SampleEntity>();
+        for(SampleEntity entity : sampleEntities){
+            entities.add(entity);
+        }
+        assertThat(entities, contains(sampleEntity, sampleEntity2));
     }
 
     @Test
@@ -340,4 +391,199 @@ public class RepositoryTest {
         assertNotNull("sample entities cant be null..", sampleEntities);
     }
 
+    @Test
+    public void shouldStreamAllDocumentsInSortOrder(){
+        //given
+        for(int i = 0; i < 12; i++){
+            SampleEntity sampleEntity = new SampleEntity();
+            sampleEntity.setId(randomNumeric(5));
+            sampleEntity.setMessage("hello world.");
+            sampleEntity.setRate(i);
+            repository.save(sampleEntity);
+        }
+        //when
+        Iterable<SampleEntity> sampleEntities = repository.findAll(new Sort(new Sort.Order(Sort.Direction.DESC, "rate")));
+        //then
+        List<Integer> rates = new ArrayList<Integer>();
+        for(SampleEntity sampleEntity : sampleEntities){
+            rates.add(sampleEntity.getRate());
+        }
+        assertThat(rates.size(), is(equalTo((int) repository.count())));
+        for(int i = 1; i < rates.size(); i++){
+            assertThat(rates.get(i), is(lessThanOrEqualTo(rates.get(i - 1))));
+        }
+    }
+
+    @Test
+    public void shouldDeleteIterableEntitiesWithSingleRefresh(){
+        //given
+        ElasticsearchTemplate refreshCountingTemplate = spy(elasticsearchTemplate);
+        SampleElasticsearchRepository refreshCountingRepository = new ElasticsearchRepositoryFactory(refreshCountingTemplate)
+                .getRepository(SampleElasticsearchRepository.class);
+        SampleEntity sampleEntity1 = new SampleEntity();
+        sampleEntity1.setId(randomNumeric(5));
+        sampleEntity1.setMessage("hello world.");
+        SampleEntity sampleEntity2 = new SampleEntity();
+        sampleEntity2.setId(randomNumeric(5));
+        sampleEntity2.setMessage("hello world.");
+        repository.save(Arrays.asList(sampleEntity1, sampleEntity2));
+        //when
+        refreshCountingRepository.delete(Arrays.asList(sampleEntity1, sampleEntity2));
+        //then
+        verify(refreshCountingTemplate, times(1)).refresh("test-index", true);
+        assertThat(repository.findOne(sampleEntity1.getId()), is(nullValue()));
+        assertThat(repository.findOne(sampleEntity2.getId()), is(nullValue()));
+    }
+
+    @Test
+    public void shouldNotRefreshAfterWritesWithRefreshPolicyNone(){
+        //given
+        ElasticsearchTemplate refreshCountingTemplate = spy(elasticsearchTemplate);
+        ElasticsearchRepositoryFactory factory = new ElasticsearchRepositoryFactory(refreshCountingTemplate);
+        factory.setRefreshPolicy(RefreshPolicy.NONE);
+        SampleElasticsearchRepository nonRefreshingRepository = factory.getRepository(SampleElasticsearchRepository.class);
+        SampleEntity sampleEntity = new SampleEntity();
+        sampleEntity.setId(randomNumeric(5));
+        sampleEntity.setMessage("hello world.");
+        //when
+        nonRefreshingRepository.save(sampleEntity);
+        nonRefreshingRepository.delete(sampleEntity);
+        //then
+        verify(refreshCountingTemplate, never()).refresh(anyString(), anyBoolean());
+    }
+
+    @Test
+    public void shouldCoalesceRefreshesOfSeveralWritesWithRefreshPolicyCoalesced(){
+        //given
+        ElasticsearchTemplate refreshCountingTemplate = spy(elasticsearchTemplate);
+        ElasticsearchRepositoryFactory factory = new ElasticsearchRepositoryFactory(refreshCountingTemplate);
+        factory.setRefreshPolicy(RefreshPolicy.COALESCED);
+        factory.setRefreshMaxDelayInMillis(500);
+        SampleElasticsearchRepository coalescingRepository = factory.getRepository(SampleElasticsearchRepository.class);
+        try {
+            //when
+            for (int i = 0; i < 3; i++) {
+                SampleEntity sampleEntity = new SampleEntity();
+                sampleEntity.setId(randomNumeric(5));
+                sampleEntity.setMessage("hello world.");
+                coalescingRepository.save(sampleEntity);
+            }
+            //then
+            verify(refreshCountingTemplate, never()).refresh(anyString(), anyBoolean());
+            verify(refreshCountingTemplate, timeout(2000)).refresh("test-index", false);
+            verify(refreshCountingTemplate, times(1)).refresh(anyString(), anyBoolean());
+        } finally {
+            factory.destroy();
+        }
+    }
+
+    @Test
+    public void shouldDeleteEntitiesByIds(){
+        //given
+        SampleEntity sampleEntity1 = new SampleEntity();
+        sampleEntity1.setId(randomNumeric(5));
+        sampleEntity1.setMessage("hello world.");
+        SampleEntity sampleEntity2 = new SampleEntity();
+        sampleEntity2.setId(randomNumeric(5));
+        sampleEntity2.setMessage("hello world.");
+        repository.save(Arrays.asList(sampleEntity1, sampleEntity2));
+        //when
+        repository.deleteAll(Arrays.asList(sampleEntity1.getId(), sampleEntity2.getId()));
+        //then
+        assertThat(repository.exists(sampleEntity1.getId()), is(false));
+        assertThat(repository.exists(sampleEntity2.getId()), is(false));
+    }
+
+    @Test
+    public void shouldPageThroughAllEntitiesByCursor(){
+        //given
+        for (int i = 0; i < 7; i++) {
+            SampleEntity sampleEntity = new SampleEntity();
+            sampleEntity.setId(randomNumeric(5));
+            sampleEntity.setMessage("hello world.");
+            repository.save(sampleEntity);
+        }
+        long count = repository.count();
+        //when
+        Set<String> ids = new HashSet<String>();
+        int fetched = 0;
+        String cursor = null;
+        do {
+            KeysetPage<SampleEntity> page = repository.findAllAfter(cursor, new PageRequest(0, 5));
+            for (SampleEntity entity : page) {
+                ids.add(entity.getId());
+                fetched++;
+            }
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        //then
+        assertThat(fetched, is(equalTo((int) count)));
+        assertThat(ids.size(), is(equalTo(fetched)));
+    }
+
+    @Test
+    public void shouldPageThroughEntitiesWithMultiTokenIdsByCursor(){
+        //given
+        Set<String> savedIds = new HashSet<String>();
+        for (int i = 0; i < 7; i++) {
+            SampleEntity sampleEntity = new SampleEntity();
+            sampleEntity.setId(UUID.randomUUID().toString());
+            sampleEntity.setMessage("hello world.");
+            repository.save(sampleEntity);
+            savedIds.add(sampleEntity.getId());
+        }
+        //when
+        List<String> ids = new ArrayList<String>();
+        String cursor = null;
+        do {
+            KeysetPage<SampleEntity> page = repository.findAllAfter(cursor, new PageRequest(0, 3));
+            for (SampleEntity entity : page) {
+                ids.add(entity.getId());
+            }
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        //then
+        assertThat(ids.size(), is(equalTo(7)));
+        assertThat(new HashSet<String>(ids), is(equalTo(savedIds)));
+    }
+
+    @Test
+    public void shouldBatchConcurrentFindOneCalls() throws Exception {
+        //given
+        ElasticsearchTemplate requestCountingTemplate = spy(elasticsearchTemplate);
+        ElasticsearchRepositoryFactory factory = new ElasticsearchRepositoryFactory(requestCountingTemplate);
+        factory.setFindOneBatchWindowInMillis(500);
+        final SampleElasticsearchRepository batchingRepository = factory.getRepository(SampleElasticsearchRepository.class);
+        List<String> ids = new ArrayList<String>();
+        for (int i = 0; i < 5; i++) {
+            SampleEntity sampleEntity = new SampleEntity();
+            sampleEntity.setId(randomNumeric(5));
+            sampleEntity.setMessage("hello world.");
+            repository.save(sampleEntity);
+            ids.add(sampleEntity.getId());
+        }
+        ids.add("missing" + randomNumeric(5));
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(ids.size());
+        List<Future<SampleEntity>> results = new ArrayList<Future<SampleEntity>>();
+        //when
+        for (final String id : ids) {
+            results.add(executor.submit(new Callable<SampleEntity>() {
+                @Override
+                public SampleEntity call() throws Exception {
+                    start.await();
+                    return batchingRepository.findOne(id);
+                }
+            }));
+        }
+        start.countDown();
+        executor.shutdown();
+        //then
+        for (int i = 0; i < 5; i++) {
+            assertThat(results.get(i).get().getId(), is(equalTo(ids.get(i))));
+        }
+        assertThat(results.get(5).get(), is(nullValue()));
+        verify(requestCountingTemplate, times(1)).multiGetById(anyCollectionOf(String.class), eq(SampleEntity.class));
+    }
+
 }
@@ -5,6 +5,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.elasticsearch.SampleEntity;
 import org.springframework.data.elasticsearch.annotations.Query;
+import org.springframework.data.elasticsearch.core.SliceList;
 import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
 
 import java.util.List;
@@ -44,4 +45,29 @@ public interface SampleCustomMethodRepository extends ElasticsearchRepository<Sa
 
     Page<SampleEntity> findByMessageOrderByTypeAsc(String message,Pageable pageable);
 
+    @Query("{\"bool\" : {\"must\" : [{\"term\" : {\"rate\" : ?0}}, {\"term\" : {\"available\" : ?1}}]}}")
+    Page<SampleEntity> searchByRateAndAvailable(int rate, boolean available, Pageable pageable);
+
+    @Query("{\"match\" : {\"message\" : {\"query\" : \"?0\", \"type\" : \"phrase\"}}}")
+    Page<SampleEntity> searchByMessagePhrase(String phrase, Pageable pageable);
+
+    List<String> findIdsByType(String type);
+
+    SliceList<SampleEntity> readByType(String type, Pageable pageable);
+
+    List<SampleEntity> readByType(String type);
+
+    @Query("{\"term\" : {\"type\" : \"?0\"}}")
+    List<SampleEntity> searchByType(String type);
+
+    long countByType(String type);
+
+    boolean existsByType(String type);
+
+    @Query("{\"term\" : {\"type\" : \"?0\"}}")
+    long countByTypeWithQuery(String type);
+
+    @Query(searchType = "count")
+    Page<SampleEntity> findByRate(int rate, Pageable pageable);
+
 }
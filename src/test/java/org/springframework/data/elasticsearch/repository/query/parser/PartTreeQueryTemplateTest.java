@@ -0,0 +1,156 @@
+package org.springframework.data.elasticsearch.repository.query.parser;
+
+
+import org.junit.Test;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.elasticsearch.SampleEntity;
+import org.springframework.data.elasticsearch.core.CriteriaQueryTemplate;
+import org.springframework.data.elasticsearch.core.mapping.ElasticsearchPersistentEntity;
+import org.springframework.data.elasticsearch.core.mapping.ElasticsearchPersistentProperty;
+import org.springframework.data.elasticsearch.core.mapping.SimpleElasticsearchMappingContext;
+import org.springframework.data.elasticsearch.core.query.CriteriaQuery;
+import org.springframework.data.elasticsearch.core.query.SearchQuery;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.repository.query.Parameters;
+import org.springframework.data.repository.query.ParametersParameterAccessor;
+import org.springframework.data.repository.query.parser.PartTree;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class PartTreeQueryTemplateTest {
+
+    private final MappingContext<? extends ElasticsearchPersistentEntity<?>, ElasticsearchPersistentProperty> mappingContext = new SimpleElasticsearchMappingContext();
+
+    @Test
+    public void shouldBindSimplePropertiesLikeQueryCreator(){
+        assertSameQueryAsQueryCreator("findByMessage", "some message", null);
+        assertSameQueryAsQueryCreator("findByMessageAndType", "some message", "some type");
+        assertSameQueryAsQueryCreator("findByMessageOrType", "some message", "some type");
+        assertSameQueryAsQueryCreator("findByMessageNot", "some message");
+        assertSameQueryAsQueryCreator("findByAvailableTrueAndRate", 10);
+    }
+
+    @Test
+    public void shouldBindWildcardsLikeQueryCreator(){
+        assertSameQueryAsQueryCreator("findByMessageContaining", "message");
+        assertSameQueryAsQueryCreator("findByMessageStartingWithAndTypeEndingWith", "some", "type");
+    }
+
+    @Test
+    public void shouldBindRangesLikeQueryCreator(){
+        assertSameQueryAsQueryCreator("findByRateBetween", 10, 20);
+        assertSameQueryAsQueryCreator("findByRateGreaterThanAndRateLessThan", 10, 20);
+    }
+
+    @Test
+    public void shouldBindInValuesLikeQueryCreator(){
+        assertSameQueryAsQueryCreator("findByIdIn", Arrays.asList("1", "2", "3"));
+        assertSameQueryAsQueryCreator("findByIdNotIn", (Object) new String[]{"1", "2"});
+    }
+
+    @Test
+    public void shouldRemoveDuplicatesOfBoundValuesLikeQueryCreator(){
+        assertSameQueryAsQueryCreator("findByMessageOrMessage", "some message", "some message");
+        assertSameQueryAsQueryCreator("findByMessageAndMessage", "some message", "some message");
+    }
+
+    @Test
+    public void shouldDropNullValuesLikeQueryCreator(){
+        assertSameQueryAsQueryCreator("findByMessageAndType", "some message", null);
+        assertSameQueryAsQueryCreator("findByMessageOrType", null, "some type");
+    }
+
+    @Test
+    public void shouldBindSortLikeQueryCreator(){
+        assertSameQueryAsQueryCreator("findByMessageOrderByTypeAsc", "some message");
+        assertSameQueryAsQueryCreator("findByMessage", "some message", new Sort("rate"));
+    }
+
+    @Test(expected = InvalidDataAccessApiUsageException.class)
+    public void shouldRejectBlankInWildcardValueLikeQueryCreator(){
+        bind("findByMessageContaining", "some message");
+    }
+
+    @Test
+    public void shouldReuseCompiledTemplateForDifferentValues(){
+        //given
+        Method method = method("findByMessageAndType");
+        PartTreeQueryTemplate template = new PartTreeQueryTemplate(new PartTree(method.getName(), SampleEntity.class), mappingContext);
+        //when
+        String first = template.bind(accessor(method, "first", "type")).getElasticsearchQuery().toString();
+        String second = template.bind(accessor(method, "second", "type")).getElasticsearchQuery().toString();
+        //then
+        assertThat(first, containsString("first"));
+        assertThat(second, containsString("second"));
+        assertThat(second, not(containsString("first")));
+    }
+
+    private void assertSameQueryAsQueryCreator(String methodName, Object... values) {
+        //given
+        Method method = method(methodName);
+        PartTree tree = new PartTree(methodName, SampleEntity.class);
+        CriteriaQuery expected = new ElasticsearchQueryCreator(tree, accessor(method, values), mappingContext).createQuery();
+        //when
+        SearchQuery query = bind(methodName, values);
+        //then
+        assertThat(query.getElasticsearchQuery().toString(),
+                is(equalTo(new CriteriaQueryTemplate(expected.getCriteria(), Collections.emptyList()).bind().toString())));
+        assertThat(query.getSort(), is(equalTo(expected.getSort())));
+    }
+
+    private SearchQuery bind(String methodName, Object... values) {
+        Method method = method(methodName);
+        return new PartTreeQueryTemplate(new PartTree(methodName, SampleEntity.class), mappingContext).bind(accessor(method, values));
+    }
+
+    private ParametersParameterAccessor accessor(Method method, Object... values) {
+        return new ParametersParameterAccessor(new Parameters(method), values);
+    }
+
+    private Method method(String methodName) {
+        for (Method method : SampleQueries.class.getMethods()) {
+            if (method.getName().equals(methodName)) {
+                return method;
+            }
+        }
+        throw new IllegalArgumentException("No method " + methodName);
+    }
+
+    interface SampleQueries {
+
+        List<SampleEntity> findByMessage(String message, Sort sort);
+
+        List<SampleEntity> findByMessageAndType(String message, String type);
+
+        List<SampleEntity> findByMessageOrType(String message, String type);
+
+        List<SampleEntity> findByMessageNot(String message);
+
+        List<SampleEntity> findByAvailableTrueAndRate(int rate);
+
+        List<SampleEntity> findByMessageContaining(String message);
+
+        List<SampleEntity> findByMessageStartingWithAndTypeEndingWith(String message, String type);
+
+        List<SampleEntity> findByRateBetween(int from, int to);
+
+        List<SampleEntity> findByRateGreaterThanAndRateLessThan(int from, int to);
+
+        List<SampleEntity> findByIdIn(List<String> ids);
+
+        List<SampleEntity> findByIdNotIn(String[] ids);
+
+        List<SampleEntity> findByMessageOrMessage(String message, String otherMessage);
+
+        List<SampleEntity> findByMessageAndMessage(String message, String otherMessage);
+
+        List<SampleEntity> findByMessageOrderByTypeAsc(String message);
+    }
+}
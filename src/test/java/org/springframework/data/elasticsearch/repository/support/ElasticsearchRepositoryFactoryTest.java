@@ -6,17 +6,30 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.elasticsearch.SampleEntity;
+import org.springframework.data.elasticsearch.annotations.Document;
+import org.springframework.data.elasticsearch.annotations.Query;
 import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.RefreshPolicy;
 import org.springframework.data.elasticsearch.core.convert.ElasticsearchConverter;
 import org.springframework.data.elasticsearch.core.convert.MappingElasticsearchConverter;
 import org.springframework.data.elasticsearch.core.mapping.ElasticsearchPersistentEntity;
 import org.springframework.data.elasticsearch.core.mapping.ElasticsearchPersistentProperty;
 import org.springframework.data.elasticsearch.core.mapping.SimpleElasticsearchMappingContext;
+import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
 import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.querydsl.QueryDslPredicateExecutor;
 import org.springframework.data.repository.core.RepositoryMetadata;
 import org.springframework.data.repository.core.support.DefaultRepositoryMetadata;
 
+import java.util.List;
+
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -45,4 +58,77 @@ public class ElasticsearchRepositoryFactoryTest {
         factory.getRepositoryBaseClass(metadata);
     }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectQueryPlaceholderWithoutMatchingParameter(){
+        //when
+        factory.getRepository(InvalidPlaceholderRepository.class);
+    }
+
+    @Test
+    public void shouldPreferRefreshPolicyOfDocumentOverFactoryRefreshPolicy(){
+        //given
+        factory.setRefreshPolicy(RefreshPolicy.IMMEDIATE);
+        NonRefreshingEntityRepository repository = factory.getRepository(NonRefreshingEntityRepository.class);
+        NonRefreshingEntity entity = new NonRefreshingEntity();
+        entity.setId("1");
+        //when
+        repository.save(entity);
+        repository.delete(entity);
+        //then
+        verify(operations, never()).refresh(anyString(), anyBoolean());
+    }
+
+    @Test
+    public void shouldApplyFactoryRefreshPolicyToDocumentWithoutRefreshPolicy(){
+        //given
+        factory.setRefreshPolicy(RefreshPolicy.NONE);
+        SampleEntityRepository repository = factory.getRepository(SampleEntityRepository.class);
+        SampleEntity entity = new SampleEntity();
+        entity.setId("1");
+        //when
+        repository.save(entity);
+        //then
+        verify(operations, never()).refresh(anyString(), anyBoolean());
+    }
+
+    @Test
+    public void shouldRefreshAfterEveryWriteByDefault(){
+        //given
+        SampleEntityRepository repository = factory.getRepository(SampleEntityRepository.class);
+        SampleEntity entity = new SampleEntity();
+        entity.setId("1");
+        //when
+        repository.save(entity);
+        repository.delete(entity);
+        //then
+        verify(operations, times(2)).refresh("test-index", true);
+    }
+
+    interface InvalidPlaceholderRepository extends ElasticsearchRepository<SampleEntity, String> {
+
+        @Query("{\"term\" : {\"type\" : \"?1\"}}")
+        List<SampleEntity> searchByType(String type);
+    }
+
+    interface SampleEntityRepository extends ElasticsearchRepository<SampleEntity, String> {
+    }
+
+    interface NonRefreshingEntityRepository extends ElasticsearchRepository<NonRefreshingEntity, String> {
+    }
+
+    @Document(indexName = "test-index", type = "non-refreshing-type", refreshPolicy = RefreshPolicy.NONE)
+    static class NonRefreshingEntity {
+
+        @Id
+        private String id;
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+    }
+
 }